@@ -0,0 +1,49 @@
+package com.myntra.benchmarks;
+
+import com.myntra.utils.ConfigReader;
+import com.myntra.utils.FrameworkConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the string-keyed configuration lookups made on hot paths,
+ * against the typed snapshot that replaces them
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigReaderBenchmark {
+
+    @Benchmark
+    public String existingKey() {
+        return ConfigReader.getProperty("base.url");
+    }
+
+    @Benchmark
+    public String missingKeyWithDefault() {
+        return ConfigReader.getProperty("benchmark.missing.key", "fallback");
+    }
+
+    @Benchmark
+    public long parsedTimeout() {
+        return Long.parseLong(ConfigReader.getProperty("readiness.timeout", "15"));
+    }
+
+    @Benchmark
+    public Duration typedTimeout() {
+        return FrameworkConfig.get().getReadinessTimeout();
+    }
+}
@@ -0,0 +1,28 @@
+package com.myntra.benchmarks;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Headless Chrome session loaded with a checked-in page snapshot
+ */
+final class FixtureBrowser {
+
+    static final String DEFAULT_FIXTURE = "cart-page-source.html";
+
+    private FixtureBrowser() {
+    }
+
+    static WebDriver open(String fixture) {
+        Path page = Paths.get(System.getProperty("benchmark.fixture", fixture)).toAbsolutePath();
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--disable-gpu", "--window-size=1366,768");
+        WebDriver driver = new ChromeDriver(options);
+        driver.get(page.toUri().toString());
+        return driver;
+    }
+}
@@ -0,0 +1,80 @@
+package com.myntra.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locator evaluation and readiness probing against the recorded cart page
+ * in headless Chrome. Each call is one WebDriver round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    private static final By CART_ITEMS_XPATH = By.xpath("//div[contains(@class,'itemContainer')]");
+    private static final By CART_ITEMS_CSS = By.cssSelector("div[class*='itemContainer']");
+    private static final By PLACE_ORDER = By.xpath("//button[@role='button' and (normalize-space()='PLACE ORDER')]");
+
+    private WebDriver driver;
+    private String readinessProbe;
+
+    @Setup
+    public void openFixture() throws IOException {
+        driver = FixtureBrowser.open(FixtureBrowser.DEFAULT_FIXTURE);
+        readinessProbe = script("scripts/dom-helpers.js") + script("scripts/readiness-probe.js");
+    }
+
+    private String script(String resource) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @TearDown
+    public void closeFixture() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public int cartItemsByXpath() {
+        return driver.findElements(CART_ITEMS_XPATH).size();
+    }
+
+    @Benchmark
+    public int cartItemsByCss() {
+        return driver.findElements(CART_ITEMS_CSS).size();
+    }
+
+    @Benchmark
+    public int placeOrderByXpath() {
+        return driver.findElements(PLACE_ORDER).size();
+    }
+
+    @Benchmark
+    public Object readinessProbe() {
+        return ((JavascriptExecutor) driver).executeScript(readinessProbe,
+                List.of(List.of("xpath", "//div[contains(@class,'itemContainer')]")));
+    }
+}
@@ -0,0 +1,57 @@
+package com.myntra.benchmarks;
+
+import com.myntra.factory.DriverFactory;
+import com.myntra.factory.StubDriver;
+import com.myntra.pages.HomePage;
+import com.myntra.pages.ProductDetailsPage;
+import com.myntra.pages.SearchResultsPage;
+import com.myntra.pages.ShoppingBagPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page-object construction; each one builds a WebDriverWait and an Actions
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageObjectBenchmark {
+
+    @Setup
+    public void bindStubDriver() {
+        DriverFactory.bindDriver(StubDriver.create());
+    }
+
+    @Benchmark
+    public HomePage homePage() {
+        return new HomePage();
+    }
+
+    @Benchmark
+    public SearchResultsPage searchResultsPage() {
+        return new SearchResultsPage();
+    }
+
+    @Benchmark
+    public ProductDetailsPage productDetailsPage() {
+        return new ProductDetailsPage();
+    }
+
+    @Benchmark
+    public ShoppingBagPage shoppingBagPage() {
+        return new ShoppingBagPage();
+    }
+}
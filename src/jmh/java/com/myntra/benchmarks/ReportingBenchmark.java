@@ -0,0 +1,109 @@
+package com.myntra.benchmarks;
+
+import com.myntra.metrics.Metrics;
+import com.myntra.reporting.EventStreamPlugin;
+import io.cucumber.messages.types.Duration;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.TestCaseFinished;
+import io.cucumber.messages.types.TestStepFinished;
+import io.cucumber.messages.types.TestStepResult;
+import io.cucumber.messages.types.TestStepResultStatus;
+import io.cucumber.messages.types.Timestamp;
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.EventPublisher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the events the framework emits while scenarios run: report
+ * envelopes serialized by {@link EventStreamPlugin} into a discarding
+ * stream, latency samples and (disabled) debug log statements
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportingBenchmark.class);
+    private static final By LOCATOR = By.xpath("//div[contains(@class,'itemContainer')]");
+    private static final Timestamp NOW = new Timestamp(1_700_000_000L, 0L);
+
+    private static final Envelope STEP_FINISHED = Envelope.of(new TestStepFinished(
+            "test-case-started-1", "test-step-1",
+            new TestStepResult(new Duration(1L, 250_000_000L), null, TestStepResultStatus.PASSED, null), NOW));
+    private static final Envelope STEP_FAILED = Envelope.of(new TestStepFinished(
+            "test-case-started-1", "test-step-2",
+            new TestStepResult(new Duration(0L, 80_000_000L),
+                    "org.openqa.selenium.TimeoutException: Expected condition failed: waiting for visibility of "
+                            + LOCATOR + "\n\tat com.myntra.pages.BasePage.waitForElementVisible(BasePage.java:120)",
+                    TestStepResultStatus.FAILED, null), NOW));
+    private static final Envelope CASE_FINISHED = Envelope.of(new TestCaseFinished("test-case-started-1", NOW, false));
+
+    private EventHandler<Envelope> stream;
+
+    @Setup
+    public void openStream() {
+        EventStreamPlugin.to(OutputStream.nullOutputStream()).setEventPublisher(new EventPublisher() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> void registerHandlerFor(Class<T> type, EventHandler<T> handler) {
+                if (type == Envelope.class) {
+                    stream = (EventHandler<Envelope>) handler;
+                }
+            }
+
+            @Override
+            public <T> void removeHandlerFor(Class<T> type, EventHandler<T> handler) {
+            }
+        });
+    }
+
+    @Benchmark
+    public void emitStepFinished() {
+        stream.receive(STEP_FINISHED);
+    }
+
+    @Benchmark
+    public void emitFailedStepFinished() {
+        stream.receive(STEP_FAILED);
+    }
+
+    @Benchmark
+    public void emitTestCaseFinished() {
+        stream.receive(CASE_FINISHED);
+    }
+
+    @Benchmark
+    public void recordLatency() {
+        Metrics.record(Metrics.ACTION, "BasePage.clickElement", 1_250_000);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordLatencyContended() {
+        Metrics.record(Metrics.ACTION, "BasePage.clickElement", 1_250_000);
+    }
+
+    @Benchmark
+    public void disabledDebugLog() {
+        logger.debug("Waiting for element to be visible: {}", LOCATOR);
+    }
+}
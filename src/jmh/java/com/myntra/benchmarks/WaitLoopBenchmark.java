@@ -0,0 +1,49 @@
+package com.myntra.benchmarks;
+
+import com.myntra.factory.StubDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-poll overhead of the WebDriverWait loop itself, with a zero polling
+ * interval so only the framework machinery is measured
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaitLoopBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int pollsUntilTrue;
+
+    private WebDriver driver;
+
+    @Setup
+    public void createDriver() {
+        driver = StubDriver.create();
+    }
+
+    @Benchmark
+    public Boolean webDriverWait() {
+        int[] polls = {0};
+        return new WebDriverWait(driver, Duration.ofSeconds(5), Duration.ZERO)
+                .until(d -> ++polls[0] >= pollsUntilTrue);
+    }
+}
@@ -0,0 +1,142 @@
+package com.myntra.checkpoint;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a browser needs to resume where a flow left off: the current URL,
+ * its cookies and the page origin's localStorage and sessionStorage
+ */
+public final class BrowserState {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserState.class);
+
+    private static final String READ_STORAGE =
+            "var dump = function (storage) {"
+            + "  var entries = {};"
+            + "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); entries[key] = storage.getItem(key); }"
+            + "  return entries;"
+            + "};"
+            + "return {local: dump(window.localStorage), session: dump(window.sessionStorage)};";
+    private static final String WRITE_STORAGE =
+            "var fill = function (storage, entries) {"
+            + "  storage.clear();"
+            + "  for (var key in entries) { storage.setItem(key, entries[key]); }"
+            + "};"
+            + "fill(window.localStorage, arguments[0]);"
+            + "fill(window.sessionStorage, arguments[1]);";
+
+    private final String url;
+    private final List<Map<String, Object>> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+
+    private BrowserState(String url, List<Map<String, Object>> cookies,
+                         Map<String, String> localStorage, Map<String, String> sessionStorage) {
+        this.url = url;
+        this.cookies = cookies;
+        this.localStorage = localStorage;
+        this.sessionStorage = sessionStorage;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static BrowserState capture(WebDriver driver) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            cookies.add(toJson(cookie));
+        }
+        Map<String, Map<String, String>> storage =
+                (Map<String, Map<String, String>>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE);
+        return new BrowserState(driver.getCurrentUrl(), cookies,
+                new LinkedHashMap<>(storage.get("local")), new LinkedHashMap<>(storage.get("session")));
+    }
+
+    /**
+     * Loads the state into the browser and opens the captured URL. Cookies
+     * and storage can only be written for the page's own origin, so the
+     * origin is opened first when the browser is elsewhere.
+     */
+    public void restore(WebDriver driver) {
+        String origin = origin(url);
+        if (!origin.equals(origin(driver.getCurrentUrl()))) {
+            driver.get(origin + "/");
+        }
+        driver.manage().deleteAllCookies();
+        for (Map<String, Object> cookie : cookies) {
+            try {
+                driver.manage().addCookie(toCookie(cookie));
+            } catch (WebDriverException e) {
+                // Third-party cookies cannot be set from this origin and are not needed to resume
+                logger.debug("Skipped cookie {} for {}: {}", cookie.get("name"), cookie.get("domain"), e.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE, localStorage, sessionStorage);
+        driver.get(url);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("url", url);
+        json.put("cookies", cookies);
+        json.put("localStorage", localStorage);
+        json.put("sessionStorage", sessionStorage);
+        return json;
+    }
+
+    @SuppressWarnings("unchecked")
+    static BrowserState fromJson(Map<String, Object> json) {
+        return new BrowserState((String) json.get("url"),
+                (List<Map<String, Object>>) json.get("cookies"),
+                (Map<String, String>) json.get("localStorage"),
+                (Map<String, String>) json.get("sessionStorage"));
+    }
+
+    private static Map<String, Object> toJson(Cookie cookie) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", cookie.getName());
+        json.put("value", cookie.getValue());
+        json.put("path", cookie.getPath());
+        json.put("domain", cookie.getDomain());
+        json.put("secure", cookie.isSecure());
+        json.put("httpOnly", cookie.isHttpOnly());
+        json.put("sameSite", cookie.getSameSite());
+        if (cookie.getExpiry() != null) {
+            json.put("expiry", cookie.getExpiry().getTime() / 1000);
+        }
+        return json;
+    }
+
+    private static Cookie toCookie(Map<String, Object> json) {
+        Object expiry = json.get("expiry");
+        Cookie.Builder builder = new Cookie.Builder((String) json.get("name"), (String) json.get("value"))
+                .path((String) json.getOrDefault("path", "/"))
+                .domain((String) json.get("domain"))
+                .isSecure(Boolean.TRUE.equals(json.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(json.get("httpOnly")))
+                .sameSite((String) json.get("sameSite"));
+        if (expiry instanceof Number) {
+            builder.expiresOn(new Date(((Number) expiry).longValue() * 1000));
+        }
+        return builder.build();
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+}
@@ -0,0 +1,237 @@
+package com.myntra.checkpoint;
+
+import com.myntra.metrics.Metrics;
+import com.myntra.utils.FrameworkConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Named browser-state checkpoints, so scenarios can start from the state a
+ * setup flow leaves behind instead of replaying it through the UI.
+ * A checkpoint is only restored while its fingerprint matches the current
+ * flow and it is younger than checkpoint.ttl.minutes (server-side sessions
+ * expire). Checkpoints are kept in memory and in checkpoint.dir, so other
+ * forks and later runs can reuse them. The files hold session cookies.
+ */
+public final class CheckpointStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointStore.class);
+    private static final CheckpointStore INSTANCE = new CheckpointStore();
+
+    private final boolean enabled;
+    private final Path dir;
+    private final Duration ttl;
+    private final Map<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+    // Scenarios needing the same checkpoint wait for one build instead of all replaying the flow
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final AtomicLong restores = new AtomicLong();
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong savedMillis = new AtomicLong();
+
+    private static final class Checkpoint {
+
+        private final String name;
+        private final String fingerprint;
+        private final long createdAt;
+        private final long buildMillis;
+        private final BrowserState state;
+
+        private Checkpoint(String name, String fingerprint, long createdAt, long buildMillis, BrowserState state) {
+            this.name = name;
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+            this.buildMillis = buildMillis;
+            this.state = state;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        long getCreatedAt() {
+            return createdAt;
+        }
+
+        long getBuildMillis() {
+            return buildMillis;
+        }
+
+        BrowserState getState() {
+            return state;
+        }
+    }
+
+    private CheckpointStore() {
+        FrameworkConfig config = FrameworkConfig.get();
+        this.enabled = config.isCheckpointEnabled();
+        this.dir = config.getCheckpointDir();
+        this.ttl = config.getCheckpointTtl();
+    }
+
+    public static CheckpointStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Restores the named checkpoint when a valid one exists and the check
+     * passes on the restored page; otherwise runs the flow and captures the
+     * state it leaves behind.
+     *
+     * @return true when the flow was skipped
+     */
+    public boolean restoreOrBuild(String name, String fingerprint, WebDriver driver,
+                                  Runnable flow, BooleanSupplier restoredCheck) {
+        if (!enabled) {
+            flow.run();
+            return false;
+        }
+        ReentrantLock lock = locks.computeIfAbsent(name, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            Optional<Checkpoint> checkpoint = find(name, fingerprint);
+            if (checkpoint.isPresent() && restore(checkpoint.get(), driver, restoredCheck)) {
+                return true;
+            }
+            build(name, fingerprint, driver, flow);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<Checkpoint> find(String name, String fingerprint) {
+        Checkpoint checkpoint = checkpoints.computeIfAbsent(name, this::load);
+        if (checkpoint == null) {
+            return Optional.empty();
+        }
+        if (!checkpoint.getFingerprint().equals(fingerprint)) {
+            logger.info("Checkpoint '{}' was built by a different flow, rebuilding", name);
+            invalidate(name);
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() - checkpoint.getCreatedAt() > ttl.toMillis()) {
+            logger.info("Checkpoint '{}' is older than {} minutes, rebuilding", name, ttl.toMinutes());
+            invalidate(name);
+            return Optional.empty();
+        }
+        return Optional.of(checkpoint);
+    }
+
+    private boolean restore(Checkpoint checkpoint, WebDriver driver, BooleanSupplier restoredCheck) {
+        long start = System.nanoTime();
+        try {
+            checkpoint.getState().restore(driver);
+            if (!restoredCheck.getAsBoolean()) {
+                logger.warn("Checkpoint '{}' restored but the page check failed, rebuilding", checkpoint.getName());
+                invalidate(checkpoint.getName());
+                return false;
+            }
+        } catch (WebDriverException e) {
+            logger.warn("Could not restore checkpoint '{}', rebuilding: {}", checkpoint.getName(), e.getMessage());
+            invalidate(checkpoint.getName());
+            return false;
+        }
+        long elapsed = System.nanoTime() - start;
+        long saved = Math.max(0, checkpoint.getBuildMillis() - elapsed / 1_000_000);
+        Metrics.record(Metrics.CHECKPOINT, checkpoint.getName() + " restore", elapsed);
+        restores.incrementAndGet();
+        savedMillis.addAndGet(saved);
+        logger.info("Restored checkpoint '{}' in {} ms instead of replaying {} ms of UI steps (saved {} ms)",
+                checkpoint.getName(), elapsed / 1_000_000, checkpoint.getBuildMillis(), saved);
+        return true;
+    }
+
+    private void build(String name, String fingerprint, WebDriver driver, Runnable flow) {
+        long start = System.nanoTime();
+        flow.run();
+        long elapsed = System.nanoTime() - start;
+        Metrics.record(Metrics.CHECKPOINT, name + " build", elapsed);
+        builds.incrementAndGet();
+
+        Checkpoint checkpoint = new Checkpoint(name, fingerprint, System.currentTimeMillis(),
+                elapsed / 1_000_000, BrowserState.capture(driver));
+        checkpoints.put(name, checkpoint);
+        save(checkpoint);
+        logger.info("Captured checkpoint '{}' at {} after {} ms of UI steps",
+                name, checkpoint.getState().getUrl(), checkpoint.getBuildMillis());
+    }
+
+    private void invalidate(String name) {
+        checkpoints.remove(name);
+        try {
+            Files.deleteIfExists(file(name));
+        } catch (IOException e) {
+            logger.debug("Could not delete checkpoint file for '{}': {}", name, e.getMessage());
+        }
+    }
+
+    private Path file(String name) {
+        return dir.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Checkpoint load(String name) {
+        Path file = file(name);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, Object> json = new Json().toType(reader, Json.MAP_TYPE);
+            return new Checkpoint(name,
+                    (String) json.get("fingerprint"),
+                    ((Number) json.get("createdAt")).longValue(),
+                    ((Number) json.get("buildMillis")).longValue(),
+                    BrowserState.fromJson((Map<String, Object>) json.get("state")));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable checkpoint {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void save(Checkpoint checkpoint) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", checkpoint.getName());
+        json.put("fingerprint", checkpoint.getFingerprint());
+        json.put("createdAt", checkpoint.getCreatedAt());
+        json.put("buildMillis", checkpoint.getBuildMillis());
+        json.put("state", checkpoint.getState().toJson());
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(file(checkpoint.getName()), new Json().toJson(json), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Could not save checkpoint '{}': {}", checkpoint.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Logs how often checkpoints were restored and the UI time that saved
+     */
+    public void logTotals() {
+        if (restores.get() + builds.get() == 0) {
+            return;
+        }
+        logger.info("Checkpoints: {} built, {} restored, ~{}s of UI replay saved",
+                builds.get(), restores.get(), savedMillis.get() / 1000);
+    }
+}
@@ -0,0 +1,88 @@
+package com.myntra.checkpoint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Identifies the flow that produced a checkpoint: its inputs plus the
+ * compiled classes of the packages that implement it. Editing a step
+ * definition or page object changes the fingerprint, which invalidates
+ * every checkpoint built with the old code.
+ */
+public final class Fingerprint {
+
+    private Fingerprint() {
+    }
+
+    /**
+     * @param inputs  values the flow depends on, e.g. the search term and base URL
+     * @param sources classes whose whole package implements the flow
+     */
+    public static String of(List<String> inputs, Class<?>... sources) {
+        MessageDigest digest = sha256();
+        for (String input : inputs) {
+            digest.update(input.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        for (Class<?> source : sources) {
+            List<Path> classFiles = packageClassFiles(source);
+            if (classFiles.isEmpty()) {
+                digest.update(classBytes(source));
+            }
+            for (Path classFile : classFiles) {
+                try {
+                    digest.update(classFile.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update(Files.readAllBytes(classFile));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not read " + classFile, e);
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+    }
+
+    /**
+     * Class files in the source's package when it was loaded from a
+     * directory, empty when it came from a jar
+     */
+    private static List<Path> packageClassFiles(Class<?> source) {
+        try {
+            Path classFile = Paths.get(source.getResource(source.getSimpleName() + ".class").toURI());
+            try (Stream<Path> siblings = Files.list(classFile.getParent())) {
+                return siblings.filter(file -> file.toString().endsWith(".class"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        } catch (URISyntaxException | IOException | RuntimeException e) {
+            return List.of();
+        }
+    }
+
+    private static byte[] classBytes(Class<?> source) {
+        try (InputStream in = source.getResourceAsStream(source.getSimpleName() + ".class")) {
+            return in == null ? new byte[0] : in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read class file of " + source.getName(), e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.myntra.factory;
+
+import com.myntra.utils.FrameworkConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrently running browsers by host CPU and memory,
+ * and by driver.pool.max.sessions when the session pool is enabled, and
+ * tracks how busy those browser slots were over the run.
+ * parallel.max.browsers.&lt;browser&gt; further caps one browser type, so
+ * cells of a cross-browser matrix share the host without one browser
+ * taking every slot.
+ */
+public final class BrowserScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserScheduler.class);
+    private static final BrowserScheduler INSTANCE = new BrowserScheduler();
+
+    private final int limit;
+    private final Semaphore slots;
+    private final Map<String, Semaphore> browserSlots = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+
+    // Utilisation bookkeeping, guarded by this
+    private final List<long[]> timeline = new ArrayList<>();
+    private int busy;
+    private int peakBusy;
+    private long lastChangeNanos = startNanos;
+    private double busyNanosIntegral;
+    private final Map<String, int[]> busyByType = new TreeMap<>();
+
+    private BrowserScheduler() {
+        this.limit = computeLimit();
+        this.slots = new Semaphore(limit, true);
+    }
+
+    public static BrowserScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isParallelEnabled() {
+        return FrameworkConfig.get().isParallelEnabled();
+    }
+
+    /**
+     * Number of browsers this host can run side by side
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Number of browsers of one type that may run side by side
+     */
+    public int getLimit(String browser) {
+        int typeLimit = FrameworkConfig.get().getMaxBrowsers(browser);
+        return typeLimit > 0 ? Math.min(typeLimit, limit) : limit;
+    }
+
+    /**
+     * Blocks until a slot for the browser type and then a host slot is free.
+     * Waiting for the type slot first keeps a saturated browser type from
+     * holding host slots that other types could use.
+     */
+    public void acquireSlot(String browser) {
+        Semaphore typeSlots = typeSlots(browser);
+        try {
+            typeSlots.acquire();
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                typeSlots.release();
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser slot", e);
+        }
+        recordChange(browser, 1);
+    }
+
+    public void releaseSlot(String browser) {
+        recordChange(browser, -1);
+        slots.release();
+        typeSlots(browser).release();
+    }
+
+    private Semaphore typeSlots(String browser) {
+        return browserSlots.computeIfAbsent(browser.toLowerCase(Locale.ROOT),
+                type -> new Semaphore(getLimit(type), true));
+    }
+
+    /**
+     * Average share of the browser limit that was busy since the scheduler started
+     */
+    public synchronized double getUtilization() {
+        long now = System.nanoTime();
+        double integral = busyNanosIntegral + (double) busy * (now - lastChangeNanos);
+        long elapsed = now - startNanos;
+        return elapsed == 0 ? 0 : integral / ((double) limit * elapsed);
+    }
+
+    /**
+     * Logs the utilisation summary and writes the busy-over-time series as CSV
+     */
+    public synchronized void report() {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        logger.info("Browser scheduler: limit={} peak={} utilization={}% over {} ms",
+                limit, peakBusy, String.format("%.1f", getUtilization() * 100), elapsedMs);
+        busyByType.forEach((type, busyAndPeak) ->
+                logger.info("Browser scheduler: {} limit={} peak={}", type, getLimit(type), busyAndPeak[1]));
+
+        Path csv = FrameworkConfig.get().getUtilizationFile();
+        try {
+            Files.createDirectories(csv.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv))) {
+                out.println("elapsed_ms,busy,limit");
+                for (long[] point : timeline) {
+                    out.println(point[0] + "," + point[1] + "," + limit);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write utilization timeline to {}: {}", csv, e.getMessage());
+        }
+    }
+
+    private synchronized void recordChange(String browser, int delta) {
+        int[] busyAndPeak = busyByType.computeIfAbsent(browser.toLowerCase(Locale.ROOT), type -> new int[2]);
+        busyAndPeak[0] += delta;
+        busyAndPeak[1] = Math.max(busyAndPeak[1], busyAndPeak[0]);
+        long now = System.nanoTime();
+        busyNanosIntegral += (double) busy * (now - lastChangeNanos);
+        lastChangeNanos = now;
+        busy += delta;
+        peakBusy = Math.max(peakBusy, busy);
+        timeline.add(new long[]{TimeUnit.NANOSECONDS.toMillis(now - startNanos), busy});
+    }
+
+    private static int computeLimit() {
+        if (!isParallelEnabled()) {
+            return 1;
+        }
+        FrameworkConfig config = FrameworkConfig.get();
+        double cpusPerBrowser = config.getCpusPerBrowser();
+        long memoryPerBrowserMb = config.getMemoryPerBrowserMb();
+        int maxBrowsers = config.getMaxBrowsers();
+
+        int cpus = Runtime.getRuntime().availableProcessors();
+        long freeMemoryMb = freePhysicalMemoryMb();
+        int cpuLimit = (int) Math.floor(cpus / cpusPerBrowser);
+        int memoryLimit = freeMemoryMb < 0 ? Integer.MAX_VALUE : (int) (freeMemoryMb / memoryPerBrowserMb);
+
+        int computed = Math.min(cpuLimit, memoryLimit);
+        if (maxBrowsers > 0) {
+            computed = Math.min(computed, maxBrowsers);
+        }
+        computed = Math.max(1, computed);
+        // Pooled sessions are the browsers; more concurrent scenarios than that would only queue for one
+        if (config.isPoolEnabled() && computed > config.getPoolMaxSessions()) {
+            logger.warn("Parallel browser limit {} exceeds driver.pool.max.sessions={}, capping it to the pool size",
+                    computed, config.getPoolMaxSessions());
+            computed = config.getPoolMaxSessions();
+        }
+        logger.info("Parallel browser limit {} (cpus={}, cpu limit={}, free memory={} MB, memory limit={}, cap={})",
+                computed, cpus, cpuLimit, freeMemoryMb, memoryLimit, maxBrowsers > 0 ? maxBrowsers : "none");
+        return computed;
+    }
+
+    /**
+     * Free physical memory in MB, or -1 when the JVM cannot tell
+     */
+    static long freePhysicalMemoryMb() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean) {
+            com.sun.management.OperatingSystemMXBean os =
+                    (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+            return os.getFreeMemorySize() / (1024 * 1024);
+        }
+        return -1;
+    }
+}
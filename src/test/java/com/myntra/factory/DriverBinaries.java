@@ -0,0 +1,160 @@
+package com.myntra.factory;
+
+import com.myntra.metrics.Metrics;
+import com.myntra.utils.ConfigReader;
+import com.myntra.utils.FrameworkConfig;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.manager.SeleniumManager;
+import org.openqa.selenium.manager.SeleniumManagerOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Resolves each browser's driver binary once per JVM and pins it through the
+ * webdriver.*.driver system property, so later launches skip version lookups.
+ *
+ * Resolution modes (driver.resolution):
+ * - webdrivermanager: WebDriverManager with a shared cache directory; a file
+ *   lock in that directory keeps parallel forks from downloading at once
+ * - selenium-manager: Selenium Manager's own cache, network allowed
+ * - offline: the pinned driver.&lt;browser&gt;.path binary, or else whatever
+ *   Selenium Manager already has cached; never touches the network
+ */
+final class DriverBinaries {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaries.class);
+    private static final Map<String, Path> resolved = new ConcurrentHashMap<>();
+
+    private DriverBinaries() {
+    }
+
+    /**
+     * Returns the driver binary for the browser, resolving it on first use
+     */
+    static Path resolve(String browser) {
+        return resolved.computeIfAbsent(browser.toLowerCase(Locale.ROOT), DriverBinaries::resolveOnce);
+    }
+
+    private static Path resolveOnce(String browser) {
+        String mode = FrameworkConfig.get().getDriverResolution();
+        long start = System.nanoTime();
+        Path binary;
+        switch (mode) {
+            case "webdrivermanager":
+                binary = withCacheLock(() -> fromWebDriverManager(browser));
+                break;
+            case "selenium-manager":
+                binary = fromSeleniumManager(browser, false);
+                break;
+            case "offline":
+                binary = pinned(browser);
+                if (binary == null) {
+                    binary = fromSeleniumManager(browser, true);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown driver.resolution: " + mode);
+        }
+        if (!Files.isExecutable(binary)) {
+            throw new IllegalStateException("Driver binary for " + browser + " is not executable: " + binary);
+        }
+
+        System.setProperty(systemProperty(browser), binary.toString());
+        long elapsed = System.nanoTime() - start;
+        Metrics.record(Metrics.STARTUP, "resolveDriver." + browser, elapsed);
+        logger.info("Resolved {} driver via {} in {} ms: {}", browser, mode, elapsed / 1_000_000, binary);
+        return binary;
+    }
+
+    private static Path fromWebDriverManager(String browser) {
+        String cacheDir = FrameworkConfig.get().getDriverCacheDir().toString();
+        WebDriverManager manager = manager(browser).cachePath(cacheDir).resolutionCachePath(cacheDir);
+        manager.setup();
+        return Paths.get(manager.getDownloadedDriverPath());
+    }
+
+    private static Path fromSeleniumManager(String browser, boolean offline) {
+        SeleniumManagerOutput.Result result = SeleniumManager.getInstance().getDriverPath(capabilities(browser), offline);
+        if (result.getDriverPath() == null || result.getDriverPath().isEmpty()) {
+            throw new IllegalStateException("Selenium Manager found no " + browser + " driver"
+                    + (offline ? " in its cache" : "") + ": " + result.getMessage());
+        }
+        return Paths.get(result.getDriverPath());
+    }
+
+    private static Path pinned(String browser) {
+        String path = ConfigReader.getProperty("driver." + browser + ".path", "");
+        return path.isEmpty() ? null : Paths.get(path);
+    }
+
+    /**
+     * Serialises resolution across JVMs sharing the cache directory.
+     * Only the first fork downloads; the rest find the binary already cached.
+     */
+    private static synchronized Path withCacheLock(Supplier<Path> resolution) {
+        Path lockFile = FrameworkConfig.get().getDriverCacheDir().resolve(".myntra-resolve.lock");
+        try {
+            Files.createDirectories(lockFile.getParent());
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    return resolution.get();
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not lock driver cache {}, resolving without it: {}", lockFile, e.getMessage());
+            return resolution.get();
+        }
+    }
+
+    private static WebDriverManager manager(String browser) {
+        switch (browser) {
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    private static Capabilities capabilities(String browser) {
+        switch (browser) {
+            case "firefox":
+                return new FirefoxOptions();
+            case "edge":
+                return new EdgeOptions();
+            default:
+                return new ChromeOptions();
+        }
+    }
+
+    private static String systemProperty(String browser) {
+        switch (browser) {
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.myntra.factory;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.myntra.metrics.Metrics;
+import com.myntra.utils.FrameworkConfig;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
 import java.time.Duration;
 
 public class DriverFactory
@@ -15,60 +21,138 @@ public class DriverFactory
     private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
     private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
-    public WebDriver initDriver(String browser) {
-        logger.info("Initializing WebDriver for browser: {}", browser);
-
-        switch (browser.toLowerCase()) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = getChromeOptions();
-                driver.set(new ChromeDriver(chromeOptions));
-                break;
-
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                driver.set(new FirefoxDriver());
-                break;
-
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                driver.set(new EdgeDriver());
-                break;
-
-            default:
-                logger.error("Invalid browser name: {}. Defaulting to Chrome", browser);
-                WebDriverManager.chromedriver().setup();
-                driver.set(new ChromeDriver(getChromeOptions()));
+    /**
+     * Binds a browser session for the matrix cell to the current thread.
+     * When the session pool is enabled an already-running browser is reused,
+     * otherwise a fresh one is launched.
+     */
+    public WebDriver initDriver(MatrixCell cell) {
+        if (DriverPool.isEnabled()) {
+            driver.set(DriverPool.getInstance().acquire(cell));
+        } else {
+            driver.set(createDriver(cell));
         }
+        return getDriver();
+    }
 
-        getDriver().manage().deleteAllCookies();
-        getDriver().manage().window().maximize();
-        getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(15));
-        getDriver().manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
+    /**
+     * Launches and configures a new browser session without binding it to a thread
+     */
+    WebDriver createDriver(MatrixCell cell) {
+        logger.info("Initializing WebDriver for {}", cell);
+        WebDriver webDriver;
+        String name = cell.getBrowser();
 
-        logger.info("WebDriver initialized successfully");
-        return getDriver();
+        // Binary resolution happens once per JVM; later launches only pay a map lookup
+        long start = System.nanoTime();
+        DriverBinaries.resolve(name);
+        long resolved = lap("resolveDriver", start);
+
+        LaunchProfile profile = cell.getLaunchProfile();
+        Path profileDir = profile.newProfileDir();
+        PageLoadStrategy pageLoadStrategy = FrameworkConfig.get().getPageLoadStrategy();
+        try {
+            switch (name) {
+                case "firefox":
+                    FirefoxOptions firefoxOptions = new FirefoxOptions();
+                    firefoxOptions.setPageLoadStrategy(pageLoadStrategy);
+                    profile.applyTo(firefoxOptions, profileDir);
+                    webDriver = new FirefoxDriver(firefoxOptions);
+                    break;
+
+                case "edge":
+                    EdgeOptions edgeOptions = new EdgeOptions();
+                    edgeOptions.setPageLoadStrategy(pageLoadStrategy);
+                    profile.applyTo(edgeOptions, profileDir);
+                    webDriver = new EdgeDriver(edgeOptions);
+                    break;
+
+                default:
+                    ChromeOptions chromeOptions = getChromeOptions();
+                    profile.applyTo(chromeOptions, profileDir);
+                    webDriver = new ChromeDriver(chromeOptions);
+            }
+        } catch (RuntimeException e) {
+            // No session owns the directory yet, and it may be in /dev/shm
+            SessionFootprint.deleteRecursively(profileDir);
+            throw e;
+        }
+        long launched = lap("launchBrowser", resolved);
+
+        webDriver.manage().deleteAllCookies();
+        if (profile.getWindow() == null) {
+            webDriver.manage().window().maximize();
+        } else {
+            webDriver.manage().window().setSize(profile.getWindow());
+        }
+        webDriver.manage().timeouts().implicitlyWait(getImplicitWait());
+        webDriver.manage().timeouts().pageLoadTimeout(FrameworkConfig.get().getPageLoadTimeout());
+        long configured = lap("configureSession", launched);
+        SessionFootprint.getInstance().register(webDriver, name, profile, millis(configured - start), profileDir);
+
+        logger.info("WebDriver initialized in {} ms (resolve {} ms, launch {} ms, configure {} ms)",
+                millis(configured - start), millis(resolved - start), millis(launched - resolved),
+                millis(configured - launched));
+        return webDriver;
+    }
+
+    /**
+     * Records a startup stage that began at the given time and returns its end time
+     */
+    private static long lap(String stage, long start) {
+        long end = System.nanoTime();
+        Metrics.record(Metrics.STARTUP, stage, end - start);
+        return end;
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
     }
 
     private ChromeOptions getChromeOptions() {
         ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
         options.addArguments("--disable-notifications");
         options.addArguments("--disable-popup-blocking");
         options.addArguments("--remote-allow-origins=*");
         options.addArguments("--disable-blink-features=AutomationControlled");
         options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
+        options.setPageLoadStrategy(FrameworkConfig.get().getPageLoadStrategy());
         return options;
     }
 
+    /**
+     * Implicit wait applied to every session. In the default "explicit" lookup
+     * mode this is zero and all waiting goes through per-call explicit timeouts.
+     */
+    public static Duration getImplicitWait() {
+        return FrameworkConfig.get().getImplicitWait();
+    }
+
     public static WebDriver getDriver() {
         return driver.get();
     }
 
+    /**
+     * Binds an externally created session to the current thread, for tooling
+     * such as the benchmarks that manage their own browser
+     */
+    public static void bindDriver(WebDriver webDriver) {
+        driver.set(webDriver);
+    }
+
+    /**
+     * Releases the current thread's browser.
+     * Pooled sessions are reset and returned to the pool instead of being quit.
+     */
     public static void quitDriver() {
-        if (driver.get() != null) {
-            logger.info("Closing WebDriver");
-            driver.get().quit();
+        WebDriver current = driver.get();
+        if (current != null) {
+            if (DriverPool.isEnabled()) {
+                DriverPool.getInstance().release(current);
+            } else {
+                logger.info("Closing WebDriver");
+                SessionFootprint.getInstance().quit(current);
+            }
             driver.remove();
         }
     }
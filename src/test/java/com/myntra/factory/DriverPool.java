@@ -0,0 +1,342 @@
+package com.myntra.factory;
+
+import com.myntra.utils.FrameworkConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of warm browser sessions shared by all scenario threads.
+ * Sessions are reset between scenarios and evicted when unhealthy, too old
+ * or after serving too many scenarios.
+ */
+public final class DriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+    private static final DriverPool INSTANCE = new DriverPool();
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final DriverFactory factory = new DriverFactory();
+    private final int maxSessions;
+    private final Duration maxSessionAge;
+    private final int maxScenariosPerSession;
+    private final Duration acquireTimeout;
+
+    // Guards idle and live; changed is signalled whenever a session is parked or a slot frees up
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition changed = lock.newCondition();
+    private final Map<String, Deque<PooledSession>> idle = new HashMap<>();
+    // Sessions alive, idle or leased, including ones still launching
+    private int live;
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong resetNanos = new AtomicLong();
+
+    private DriverPool() {
+        FrameworkConfig config = FrameworkConfig.get();
+        // BrowserScheduler caps the parallel browser limit at this size, so every concurrent lease fits
+        this.maxSessions = config.getPoolMaxSessions();
+        this.maxSessionAge = config.getPoolMaxSessionAge();
+        this.maxScenariosPerSession = config.getPoolMaxScenariosPerSession();
+        this.acquireTimeout = config.getPoolAcquireTimeout();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return FrameworkConfig.get().isPoolEnabled();
+    }
+
+    /**
+     * Hands out a healthy idle session for the matrix cell, launching a new
+     * one when none is available. A full pool makes room by retiring an idle
+     * session of another cell; with none idle it waits for a release, up to
+     * driver.pool.acquire.timeout.
+     */
+    public WebDriver acquire(MatrixCell cell) {
+        String key = cell.getName();
+        long deadline = System.nanoTime() + acquireTimeout.toNanos();
+        while (true) {
+            Claim claim = claim(key, deadline);
+            if (claim.reused != null) {
+                PooledSession session = claim.reused;
+                if (session.isExpired() || !session.isHealthy()) {
+                    evict(session, "expired or unhealthy on acquire");
+                    continue;
+                }
+                hits.incrementAndGet();
+                leased.put(session.driver, session);
+                logger.info("Reusing pooled {} session (scenarios served: {})", key, session.scenarios);
+                return session.driver;
+            }
+
+            if (claim.victim != null) {
+                // The victim's slot passes to the new session
+                retire(claim.victim, "making room for " + key);
+            }
+            misses.incrementAndGet();
+            PooledSession session;
+            try {
+                session = new PooledSession(key, factory.createDriver(cell));
+            } catch (RuntimeException e) {
+                freeSlot();
+                throw e;
+            }
+            leased.put(session.driver, session);
+            logger.info("Launched new pooled {} session ({} of {} slots in use)", key, liveSessions(), maxSessions);
+            return session.driver;
+        }
+    }
+
+    /**
+     * What acquire may do next: reuse an idle session of its own cell, or
+     * launch a new one in a free slot or in the slot of an idle session of
+     * another cell. Re-checks after every release until the deadline.
+     */
+    private Claim claim(String cell, long deadline) {
+        lock.lock();
+        try {
+            while (true) {
+                PooledSession reused = pollIdle(cell);
+                if (reused != null) {
+                    return new Claim(reused, null);
+                }
+                if (live < maxSessions) {
+                    live++;
+                    return new Claim(null, null);
+                }
+                PooledSession victim = pollIdleOfAnyCell();
+                if (victim != null) {
+                    return new Claim(null, victim);
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("No browser session available within " + acquireTimeout
+                            + " (pool size " + maxSessions + ")");
+                }
+                changed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resets a leased session and parks it for the next scenario
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("Released driver does not belong to the pool, quitting it");
+            quietQuit(driver);
+            return;
+        }
+
+        session.scenarios++;
+        SessionFootprint.getInstance().sample(driver);
+        if (session.isExpired()) {
+            evict(session, "reached age or scenario limit");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            reset(session.driver);
+        } catch (WebDriverException e) {
+            evict(session, "reset failed: " + e.getMessage());
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        resets.incrementAndGet();
+        resetNanos.addAndGet(elapsed);
+        logger.debug("Reset pooled {} session in {} ms", session.cell, TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+        lock.lock();
+        try {
+            idle.computeIfAbsent(session.cell, k -> new ArrayDeque<>()).push(session);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getAverageResetMillis() {
+        long count = resets.get();
+        return count == 0 ? 0 : resetNanos.get() / 1_000_000.0 / count;
+    }
+
+    public String metricsSummary() {
+        long total = hits.get() + misses.get();
+        double hitRate = total == 0 ? 0 : 100.0 * hits.get() / total;
+        return String.format("hits=%d misses=%d hitRate=%.1f%% evictions=%d resets=%d avgReset=%.1fms",
+                hits.get(), misses.get(), hitRate, evictions.get(), resets.get(), getAverageResetMillis());
+    }
+
+    // Callers hold the lock
+    private PooledSession pollIdle(String cell) {
+        Deque<PooledSession> sessions = idle.get(cell);
+        return sessions == null ? null : sessions.poll();
+    }
+
+    // The least recently parked session of any cell; callers hold the lock
+    private PooledSession pollIdleOfAnyCell() {
+        for (Deque<PooledSession> sessions : idle.values()) {
+            if (!sessions.isEmpty()) {
+                return sessions.pollLast();
+            }
+        }
+        return null;
+    }
+
+    private int liveSessions() {
+        lock.lock();
+        try {
+            return live;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void freeSlot() {
+        lock.lock();
+        try {
+            live--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reset(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        String keep = handles.get(0);
+        for (String handle : handles) {
+            driver.switchTo().window(handle);
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            if (!handle.equals(keep)) {
+                driver.close();
+            }
+        }
+        driver.switchTo().window(keep);
+        driver.manage().deleteAllCookies();
+        if (driver instanceof ChromiumDriver) {
+            // deleteAllCookies only covers the current domain
+            ((ChromiumDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        }
+        driver.get("about:blank");
+    }
+
+    private void evict(PooledSession session, String reason) {
+        retire(session, reason);
+        freeSlot();
+    }
+
+    // Quits the session but leaves its slot taken, for the caller to reuse
+    private void retire(PooledSession session, String reason) {
+        evictions.incrementAndGet();
+        logger.info("Evicting pooled {} session: {}", session.cell, reason);
+        quietQuit(session.driver);
+    }
+
+    private void quietQuit(WebDriver driver) {
+        try {
+            SessionFootprint.getInstance().quit(driver);
+        } catch (WebDriverException e) {
+            logger.debug("Ignoring error while quitting driver: {}", e.getMessage());
+        }
+    }
+
+    private void shutdown() {
+        List<PooledSession> remaining = new ArrayList<>();
+        lock.lock();
+        try {
+            idle.values().forEach(remaining::addAll);
+            idle.clear();
+        } finally {
+            lock.unlock();
+        }
+        remaining.addAll(leased.values());
+        leased.clear();
+        remaining.forEach(session -> quietQuit(session.driver));
+        if (hits.get() + misses.get() > 0) {
+            logger.info("Driver pool: {}", metricsSummary());
+        }
+    }
+
+    private static final class Claim {
+        private final PooledSession reused;
+        private final PooledSession victim;
+
+        private Claim(PooledSession reused, PooledSession victim) {
+            this.reused = reused;
+            this.victim = victim;
+        }
+    }
+
+    private final class PooledSession {
+        private final String cell;
+        private final WebDriver driver;
+        private final long createdAt = System.nanoTime();
+        private int scenarios;
+
+        private PooledSession(String cell, WebDriver driver) {
+            this.cell = cell;
+            this.driver = driver;
+        }
+
+        private boolean isExpired() {
+            return scenarios >= maxScenariosPerSession
+                    || System.nanoTime() - createdAt > maxSessionAge.toNanos();
+        }
+
+        private boolean isHealthy() {
+            try {
+                return !driver.getWindowHandles().isEmpty();
+            } catch (WebDriverException e) {
+                return false;
+            }
+        }
+    }
+}
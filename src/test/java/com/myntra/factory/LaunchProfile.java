@@ -0,0 +1,266 @@
+package com.myntra.factory;
+
+import com.myntra.utils.ConfigReader;
+import com.myntra.utils.FrameworkConfig;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * How a browser is launched: headless or not, window size, GPU, disk cache,
+ * where its temporary profile directory lives and how many background
+ * services and processes it may start.
+ * Profiles are declared in config as launch.profiles.&lt;name&gt;.&lt;setting&gt;,
+ * and launch.profiles.&lt;name&gt;.&lt;browser&gt;.&lt;setting&gt; overrides a
+ * setting for one browser. launch.profile picks the profile for the run;
+ * headless=true forces headless on top of it.
+ */
+public final class LaunchProfile {
+
+    private static final Logger logger = LoggerFactory.getLogger(LaunchProfile.class);
+    private static final String[] SETTINGS = {"headless", "window", "gpu", "disk.cache.dir", "disk.cache.mb",
+            "background", "process.limit", "profile.dir", "args"};
+
+    // Background services that cost memory and CPU but nothing a test looks at
+    private static final List<String> CHROMIUM_REDUCED_BACKGROUND = List.of(
+            "--disable-background-networking",
+            "--disable-component-update",
+            "--disable-default-apps",
+            "--disable-extensions",
+            "--disable-sync",
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--metrics-recording-only",
+            "--disable-features=Translate,OptimizationHints,MediaRouter,BackForwardCache");
+    private static final Map<String, Object> FIREFOX_REDUCED_BACKGROUND = Map.of(
+            "app.update.auto", false,
+            "browser.shell.checkDefaultBrowser", false,
+            "datareporting.policy.dataSubmissionEnabled", false,
+            "datareporting.healthreport.uploadEnabled", false,
+            "toolkit.telemetry.enabled", false,
+            "extensions.update.enabled", false,
+            "browser.safebrowsing.malware.enabled", false,
+            "browser.safebrowsing.phishing.enabled", false,
+            "browser.sessionhistory.max_total_viewers", 0);
+
+    private static final Map<String, LaunchProfile> cache = new LinkedHashMap<>();
+
+    private final String name;
+    private final String browser;
+    private final boolean headless;
+    private final Dimension window;
+    private final boolean gpu;
+    private final Path diskCacheDir;
+    private final long diskCacheMb;
+    private final boolean reducedBackground;
+    private final int processLimit;
+    private final Path profileDir;
+    private final List<String> args;
+
+    private LaunchProfile(String name, String browser, String window) {
+        this.name = name;
+        this.browser = browser;
+        this.headless = Boolean.parseBoolean(setting("headless", "false"))
+                || FrameworkConfig.get().isHeadless();
+        Dimension configuredWindow = parseWindow(window != null ? window.trim() : setting("window", "maximized"));
+        // A headless browser has no screen to maximize to
+        this.window = configuredWindow == null && headless ? new Dimension(1920, 1080) : configuredWindow;
+        this.gpu = Boolean.parseBoolean(setting("gpu", "true"));
+        String cacheDir = setting("disk.cache.dir", "");
+        this.diskCacheDir = cacheDir.isEmpty() ? null : Paths.get(cacheDir).toAbsolutePath();
+        this.diskCacheMb = Long.parseLong(setting("disk.cache.mb", "0"));
+        this.reducedBackground = setting("background", "full").equalsIgnoreCase("reduced");
+        this.processLimit = Integer.parseInt(setting("process.limit", "0"));
+        this.profileDir = profileBase(setting("profile.dir", ""));
+        this.args = Arrays.stream(setting("args", "").split(","))
+                .map(String::trim)
+                .filter(arg -> !arg.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The profile selected by launch.profile, as it applies to the browser
+     */
+    public static LaunchProfile configured(String browser) {
+        return named(FrameworkConfig.get().getLaunchProfile(), browser);
+    }
+
+    public static LaunchProfile named(String name, String browser) {
+        return named(name, browser, null);
+    }
+
+    /**
+     * The named profile with its window setting replaced, e.g. for one cell
+     * of a cross-browser matrix; a null window keeps the profile's own
+     */
+    public static synchronized LaunchProfile named(String name, String browser, String window) {
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        String browserKey = browser.toLowerCase(Locale.ROOT);
+        return cache.computeIfAbsent(key + "/" + browserKey + "/" + window, k -> {
+            boolean declared = Arrays.stream(SETTINGS).anyMatch(setting ->
+                    ConfigReader.getProperty("launch.profiles." + key + "." + setting, null) != null
+                            || ConfigReader.getProperty("launch.profiles." + key + "." + browserKey + "." + setting,
+                            null) != null);
+            if (!declared && !key.equals("default")) {
+                throw new IllegalArgumentException("Unknown launch profile: " + name);
+            }
+            LaunchProfile profile = new LaunchProfile(key, browserKey, window);
+            logger.info("Launch profile for {}: {}", browserKey, profile);
+            return profile;
+        });
+    }
+
+    private String setting(String setting, String defaultValue) {
+        String value = ConfigReader.getProperty("launch.profiles." + name + "." + browser + "." + setting, null);
+        if (value == null) {
+            value = ConfigReader.getProperty("launch.profiles." + name + "." + setting, defaultValue);
+        }
+        return value.trim();
+    }
+
+    private static Dimension parseWindow(String value) {
+        if (value.isEmpty() || value.equalsIgnoreCase("maximized")) {
+            return null;
+        }
+        String[] size = value.toLowerCase(Locale.ROOT).split("x");
+        if (size.length != 2) {
+            throw new IllegalArgumentException("Window size must be WIDTHxHEIGHT or maximized: " + value);
+        }
+        return new Dimension(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+    }
+
+    // Falls back to the system temp directory where the configured one cannot be created, e.g. /dev/shm off Linux
+    private static Path profileBase(String value) {
+        Path temp = Paths.get(System.getProperty("java.io.tmpdir"));
+        if (value.isEmpty()) {
+            return temp;
+        }
+        Path dir = Paths.get(value).toAbsolutePath();
+        try {
+            return Files.createDirectories(dir);
+        } catch (IOException e) {
+            logger.warn("Profile directory {} is not available on this host, using {}", dir, temp);
+            return temp;
+        }
+    }
+
+    /**
+     * Creates an empty profile directory for one session. The session
+     * footprint uses it to find the browser's processes and deletes it
+     * when the session quits.
+     */
+    public Path newProfileDir() {
+        try {
+            return Files.createTempDirectory(profileDir, "myntra-" + browser + "-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create a browser profile in " + profileDir, e);
+        }
+    }
+
+    /**
+     * Chrome and Edge switches for this profile
+     */
+    public void applyTo(ChromiumOptions<?> options, Path userDataDir) {
+        options.addArguments("--user-data-dir=" + userDataDir);
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (window == null) {
+            options.addArguments("--start-maximized");
+        } else {
+            options.addArguments("--window-size=" + window.getWidth() + "," + window.getHeight());
+        }
+        if (!gpu) {
+            options.addArguments("--disable-gpu");
+        }
+        if (diskCacheDir != null) {
+            options.addArguments("--disk-cache-dir=" + diskCacheDir.resolve(browser));
+        }
+        if (diskCacheMb > 0) {
+            options.addArguments("--disk-cache-size=" + diskCacheMb * 1024 * 1024);
+        }
+        if (reducedBackground) {
+            options.addArguments(CHROMIUM_REDUCED_BACKGROUND);
+        }
+        if (processLimit > 0) {
+            options.addArguments("--renderer-process-limit=" + processLimit);
+        }
+        options.addArguments(args);
+    }
+
+    /**
+     * Firefox arguments and preferences for this profile
+     */
+    public void applyTo(FirefoxOptions options, Path profile) {
+        options.addArguments("-profile", profile.toString());
+        if (headless) {
+            options.addArguments("-headless");
+        }
+        if (window != null) {
+            options.addArguments("--width=" + window.getWidth(), "--height=" + window.getHeight());
+        }
+        if (!gpu) {
+            options.addPreference("layers.acceleration.disabled", true);
+        }
+        if (diskCacheDir != null) {
+            options.addPreference("browser.cache.disk.parent_directory", diskCacheDir.resolve(browser).toString());
+        }
+        if (diskCacheMb > 0) {
+            options.addPreference("browser.cache.disk.smart_size.enabled", false);
+            options.addPreference("browser.cache.disk.capacity", (int) (diskCacheMb * 1024));
+        }
+        if (reducedBackground) {
+            FIREFOX_REDUCED_BACKGROUND.forEach((preference, value) -> {
+                if (value instanceof Boolean) {
+                    options.addPreference(preference, (Boolean) value);
+                } else {
+                    options.addPreference(preference, (Integer) value);
+                }
+            });
+        }
+        if (processLimit > 0) {
+            options.addPreference("dom.ipc.processCount", processLimit);
+        }
+        options.addArguments(args);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Fixed window size, or null for a maximized window
+     */
+    public Dimension getWindow() {
+        return window;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (headless=" + headless
+                + ", window=" + (window == null ? "maximized" : window.getWidth() + "x" + window.getHeight())
+                + ", gpu=" + gpu
+                + ", background=" + (reducedBackground ? "reduced" : "full")
+                + (processLimit > 0 ? ", process.limit=" + processLimit : "")
+                + (diskCacheDir != null ? ", disk.cache.dir=" + diskCacheDir : "")
+                + ", profile.dir=" + profileDir + ")";
+    }
+}
@@ -0,0 +1,121 @@
+package com.myntra.factory;
+
+import com.myntra.utils.FrameworkConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * The browser, launch profile and window size scenarios run with. A TestNG
+ * &lt;test&gt; declares them through the browser, launch.profile and window
+ * parameters, one cell of a cross-browser matrix per test; TestRunner binds
+ * its cell to every scenario thread. Threads without a bound cell use the
+ * configured browser and launch.profile.
+ */
+public final class MatrixCell {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatrixCell.class);
+    private static final List<String> BROWSERS = List.of("chrome", "firefox", "edge");
+    private static final ThreadLocal<MatrixCell> bound = new ThreadLocal<>();
+
+    private final String browser;
+    private final String profile;
+    private final String window;
+
+    private MatrixCell(String browser, String profile, String window) {
+        String name = browser.trim().toLowerCase(Locale.ROOT);
+        if (!BROWSERS.contains(name)) {
+            logger.error("Invalid browser name: {}. Defaulting to Chrome", browser);
+            name = "chrome";
+        }
+        this.browser = name;
+        this.profile = profile.trim().toLowerCase(Locale.ROOT);
+        this.window = window == null || window.isBlank() ? null : window.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The browser and launch.profile from config
+     */
+    public static MatrixCell configured() {
+        return new MatrixCell(FrameworkConfig.get().getBrowser(),
+                FrameworkConfig.get().getLaunchProfile(), null);
+    }
+
+    /**
+     * Cell declared by TestNG parameters, with config filling in what they
+     * leave out; null when none of browser, launch.profile and window is set
+     */
+    public static MatrixCell fromParameters(Function<String, String> parameters) {
+        String browser = parameters.apply("browser");
+        String profile = parameters.apply("launch.profile");
+        String window = parameters.apply("window");
+        if (browser == null && profile == null && window == null) {
+            return null;
+        }
+        MatrixCell defaults = configured();
+        return new MatrixCell(browser != null ? browser : defaults.browser,
+                profile != null ? profile : defaults.profile, window);
+    }
+
+    /**
+     * Cell bound to the current thread, else the configured one
+     */
+    public static MatrixCell current() {
+        MatrixCell cell = bound.get();
+        return cell != null ? cell : configured();
+    }
+
+    public static void bind(MatrixCell cell) {
+        if (cell == null) {
+            bound.remove();
+        } else {
+            bound.set(cell);
+        }
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    /**
+     * Chrome and Edge, which support the DevTools domains Firefox lacks
+     */
+    public boolean isChromium() {
+        return !browser.equals("firefox");
+    }
+
+    public LaunchProfile getLaunchProfile() {
+        return LaunchProfile.named(profile, browser, window);
+    }
+
+    /**
+     * Name for logs, reports and pooled sessions, e.g. chrome, firefox-dense
+     * or edge-default-1366x768
+     */
+    public String getName() {
+        if (window != null) {
+            return browser + "-" + profile + "-" + window;
+        }
+        return profile.equals("default") ? browser : browser + "-" + profile;
+    }
+
+    /**
+     * Per-cell variant of a shared output file, e.g. events.ndjson becomes
+     * events-firefox.ndjson
+     */
+    public Path qualify(Path file) {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot <= 0 ? file.resolveSibling(fileName + "-" + getName())
+                : file.resolveSibling(fileName.substring(0, dot) + "-" + getName() + fileName.substring(dot));
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
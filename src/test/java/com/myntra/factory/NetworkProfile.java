@@ -0,0 +1,120 @@
+package com.myntra.factory;
+
+import com.myntra.utils.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * A named set of requests to block: whole resource types (Image, Font, ...)
+ * and URL wildcard patterns, as understood by the DevTools Fetch domain.
+ * Profiles are declared in config as network.profiles.&lt;name&gt;.types and
+ * network.profiles.&lt;name&gt;.urls (comma separated).
+ */
+public final class NetworkProfile {
+
+    public static final NetworkProfile NONE = new NetworkProfile("none", Set.of(), List.of());
+
+    // Rough transfer sizes used to estimate what a blocked request would have cost
+    private static final Map<String, Long> ESTIMATED_BYTES = Map.of(
+            "Image", 35_000L,
+            "Font", 45_000L,
+            "Media", 500_000L,
+            "Script", 30_000L,
+            "Stylesheet", 20_000L,
+            "XHR", 3_000L,
+            "Fetch", 3_000L,
+            "Ping", 500L);
+    private static final long DEFAULT_ESTIMATE = 5_000L;
+
+    private static final Map<String, NetworkProfile> cache = new LinkedHashMap<>();
+
+    private final String name;
+    private final Set<String> resourceTypes;
+    private final List<String> urlPatterns;
+
+    private NetworkProfile(String name, Set<String> resourceTypes, List<String> urlPatterns) {
+        this.name = name;
+        this.resourceTypes = Collections.unmodifiableSet(new TreeSet<>(resourceTypes));
+        this.urlPatterns = List.copyOf(urlPatterns);
+    }
+
+    /**
+     * Looks up a configured profile; "none", "off" and blank mean no blocking
+     */
+    public static synchronized NetworkProfile named(String name) {
+        String key = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty() || key.equals("none") || key.equals("off")) {
+            return NONE;
+        }
+        return cache.computeIfAbsent(key, NetworkProfile::load);
+    }
+
+    private static NetworkProfile load(String name) {
+        String types = ConfigReader.getProperty("network.profiles." + name + ".types", null);
+        String urls = ConfigReader.getProperty("network.profiles." + name + ".urls", null);
+        if (types == null && urls == null) {
+            throw new IllegalArgumentException("Unknown network profile: " + name);
+        }
+        return new NetworkProfile(name, split(types).stream().map(NetworkProfile::canonicalType)
+                .collect(Collectors.toSet()), split(urls));
+    }
+
+    private static List<String> split(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    // DevTools resource types are capitalised, e.g. Image, XHR, Stylesheet
+    private static String canonicalType(String type) {
+        String lower = type.toLowerCase(Locale.ROOT);
+        if (lower.equals("xhr")) {
+            return "XHR";
+        }
+        return Character.toUpperCase(lower.charAt(0)) + lower.substring(1);
+    }
+
+    static long estimatedBytes(String resourceType) {
+        return ESTIMATED_BYTES.getOrDefault(resourceType, DEFAULT_ESTIMATE);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEmpty() {
+        return resourceTypes.isEmpty() && urlPatterns.isEmpty();
+    }
+
+    /**
+     * Request patterns for Fetch.enable, one per blocked type and URL pattern
+     */
+    List<Map<String, Object>> fetchPatterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : resourceTypes) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+        }
+        for (String url : urlPatterns) {
+            patterns.add(Map.of("urlPattern", url, "requestStage", "Request"));
+        }
+        return patterns;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (types=" + resourceTypes + ", urls=" + urlPatterns.size() + ")";
+    }
+}
@@ -0,0 +1,194 @@
+package com.myntra.factory;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Blocks requests matching a {@link NetworkProfile} through the DevTools
+ * Fetch domain and counts what was blocked. Uses raw CDP commands so it does
+ * not depend on a versioned devtools module matching the installed Chrome.
+ * Fetch interception belongs to one tab, so the DevTools session follows the
+ * driver's current window and the profile is re-applied in each new one.
+ * Browsers without DevTools run unshaped.
+ */
+public final class NetworkShaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkShaper.class);
+    // Empty for sessions that cannot be shaped, so they are only probed once
+    private static final Map<WebDriver, Optional<Session>> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @SuppressWarnings("unchecked")
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> (Map<String, Object>) input.read(Map.class));
+
+    private NetworkShaper() {
+    }
+
+    /**
+     * Switches the session to the given profile. Re-applying the active profile is a no-op.
+     */
+    public static void apply(WebDriver driver, NetworkProfile profile) {
+        if (driver == null) {
+            return;
+        }
+        sessions.computeIfAbsent(driver, Session::open).ifPresent(session -> session.apply(driver, profile));
+    }
+
+    /**
+     * Carries the active profile over to the window the driver switched to
+     */
+    public static void windowChanged(WebDriver driver) {
+        session(driver).ifPresent(session -> session.follow(driver));
+    }
+
+    /**
+     * Clears the blocked-request counters at the start of a scenario
+     */
+    public static void resetStats(WebDriver driver) {
+        session(driver).ifPresent(session -> session.blocked.clear());
+    }
+
+    /**
+     * Blocked request counts by resource type since the last reset, empty when nothing was shaped
+     */
+    public static Stats stats(WebDriver driver) {
+        Map<String, Long> counts = new TreeMap<>();
+        session(driver).ifPresent(session -> session.blocked.forEach((type, count) -> counts.put(type, count.get())));
+        return new Stats(counts);
+    }
+
+    private static Optional<Session> session(WebDriver driver) {
+        return driver == null ? Optional.empty() : sessions.getOrDefault(driver, Optional.empty());
+    }
+
+    public static final class Stats {
+        private final Map<String, Long> blockedByType;
+
+        private Stats(Map<String, Long> blockedByType) {
+            this.blockedByType = Collections.unmodifiableMap(blockedByType);
+        }
+
+        public long getBlockedRequests() {
+            return blockedByType.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /**
+         * Estimated transfer size of the blocked requests, from typical sizes per resource type
+         */
+        public long getEstimatedBytesSaved() {
+            return blockedByType.entrySet().stream()
+                    .mapToLong(entry -> entry.getValue() * NetworkProfile.estimatedBytes(entry.getKey()))
+                    .sum();
+        }
+
+        public Map<String, Long> getBlockedByType() {
+            return blockedByType;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("blocked %d requests (estimated ~%d KB saved) %s",
+                    getBlockedRequests(), getEstimatedBytesSaved() / 1024, blockedByType);
+        }
+    }
+
+    private static final class Session {
+        private final DevTools devTools;
+        private final Map<String, AtomicLong> blocked = new ConcurrentHashMap<>();
+        // Window the DevTools session is attached to, and the profile applied in it
+        private String window;
+        private NetworkProfile profile = NetworkProfile.NONE;
+
+        private Session(DevTools devTools) {
+            this.devTools = devTools;
+        }
+
+        private static Optional<Session> open(WebDriver driver) {
+            if (!(driver instanceof HasDevTools)) {
+                logger.info("{} has no DevTools support, network profiles are ignored",
+                        driver.getClass().getSimpleName());
+                return Optional.empty();
+            }
+            try {
+                DevTools devTools = ((HasDevTools) driver).getDevTools();
+                String window = driver.getWindowHandle();
+                devTools.createSessionIfThereIsNotOne(window);
+                Session session = new Session(devTools);
+                session.window = window;
+                devTools.addListener(REQUEST_PAUSED, session::block);
+                return Optional.of(session);
+            } catch (WebDriverException e) {
+                logger.warn("Could not open a DevTools session, network profiles are ignored: {}", e.getMessage());
+                return Optional.empty();
+            }
+        }
+
+        // Keeps the active profile, re-applied when the driver has moved to another window
+        private synchronized void follow(WebDriver driver) {
+            apply(driver, profile);
+        }
+
+        private synchronized void apply(WebDriver driver, NetworkProfile next) {
+            String current = driver.getWindowHandle();
+            boolean newWindow = !current.equals(window);
+            if (newWindow) {
+                attach(driver, current);
+            } else if (next.equals(profile)) {
+                return;
+            }
+            if (next.isEmpty()) {
+                if (!newWindow) {
+                    devTools.send(new Command<Void>("Fetch.disable", Map.of()));
+                }
+            } else {
+                // Only requests matching a pattern are paused, and every paused request gets blocked
+                devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", next.fetchPatterns())));
+            }
+            profile = next;
+            logger.debug("Network profile set to {} in window {}", next, current);
+        }
+
+        /**
+         * Moves the DevTools session to another window. Interception is
+         * switched off in the old one first while it is still open, since its
+         * paused requests could no longer be answered; a closed one is left as is.
+         */
+        private void attach(WebDriver driver, String newWindow) {
+            if (driver.getWindowHandles().contains(window)) {
+                if (!profile.isEmpty()) {
+                    devTools.send(new Command<Void>("Fetch.disable", Map.of()));
+                }
+                devTools.disconnectSession();
+            }
+            devTools.createSession(newWindow);
+            window = newWindow;
+            logger.debug("DevTools session attached to window {}", newWindow);
+        }
+
+        private void block(Map<String, Object> paused) {
+            String type = String.valueOf(paused.getOrDefault("resourceType", "Other"));
+            try {
+                devTools.send(new Command<Void>("Fetch.failRequest",
+                        Map.of("requestId", paused.get("requestId"), "errorReason", "BlockedByClient")));
+                blocked.computeIfAbsent(type, key -> new AtomicLong()).incrementAndGet();
+            } catch (WebDriverException e) {
+                // The page navigated away or the session closed while the request was paused
+                logger.debug("Could not block {} request: {}", type, e.getMessage());
+            }
+        }
+    }
+}
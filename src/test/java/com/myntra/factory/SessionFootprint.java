@@ -0,0 +1,283 @@
+package com.myntra.factory;
+
+import com.myntra.utils.FrameworkConfig;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Startup time and memory of every browser session, to see how many
+ * browsers a build host can run with a given launch profile.
+ * A session's processes are found through its temporary profile directory,
+ * which appears on the browser's command line; memory is the sum over the
+ * browser and its child processes (renderers, GPU, utilities), read from
+ * /proc and so only available on Linux. PSS splits shared pages between
+ * the processes that share them, so it is the figure that adds up across
+ * browsers; RSS counts shared pages once per process.
+ */
+public final class SessionFootprint {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionFootprint.class);
+    private static final SessionFootprint INSTANCE = new SessionFootprint();
+    private static final Path PROC = Paths.get("/proc");
+
+    static final class Memory {
+
+        static final Memory NONE = new Memory(0, 0, 0);
+
+        private final long rssKb;
+        private final long pssKb;
+        private final int processes;
+
+        Memory(long rssKb, long pssKb, int processes) {
+            this.rssKb = rssKb;
+            this.pssKb = pssKb;
+            this.processes = processes;
+        }
+
+        long getRssKb() {
+            return rssKb;
+        }
+
+        long getPssKb() {
+            return pssKb;
+        }
+
+        int getProcesses() {
+            return processes;
+        }
+
+        Memory max(Memory other) {
+            return other.pssKb > pssKb ? other : this;
+        }
+    }
+
+    private static final class Session {
+        private final int id;
+        private final String browser;
+        private final String profile;
+        private final long startupMillis;
+        private final Path profileDir;
+        private Memory peak = Memory.NONE;
+
+        private Session(int id, String browser, String profile, long startupMillis, Path profileDir) {
+            this.id = id;
+            this.browser = browser;
+            this.profile = profile;
+            this.startupMillis = startupMillis;
+            this.profileDir = profileDir;
+        }
+    }
+
+    private final Map<WebDriver, Session> open = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final List<Session> closed = Collections.synchronizedList(new ArrayList<>());
+    private int sessions;
+
+    private SessionFootprint() {
+    }
+
+    public static SessionFootprint getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts tracking a freshly launched session and takes its first sample
+     */
+    public void register(WebDriver driver, String browser, LaunchProfile profile, long startupMillis, Path profileDir) {
+        Session session;
+        synchronized (this) {
+            session = new Session(++sessions, browser, profile.getName(), startupMillis, profileDir);
+        }
+        open.put(driver, session);
+        Memory memory = sample(session);
+        logger.info("Browser session #{} ({}, profile {}) started in {} ms, {} MB PSS in {} process(es)",
+                session.id, browser, session.profile, startupMillis, memory.getPssKb() / 1024, memory.getProcesses());
+    }
+
+    /**
+     * Samples the session's memory, e.g. after a scenario when the page is at its heaviest
+     */
+    public void sample(WebDriver driver) {
+        Session session = open.get(driver);
+        if (session != null) {
+            sample(session);
+        }
+    }
+
+    /**
+     * Takes a last sample, quits the browser and deletes its profile directory
+     */
+    public void quit(WebDriver driver) {
+        Session session = open.remove(driver);
+        if (session == null) {
+            driver.quit();
+            return;
+        }
+        sample(session);
+        closed.add(session);
+        try {
+            driver.quit();
+        } finally {
+            deleteRecursively(session.profileDir);
+        }
+    }
+
+    private Memory sample(Session session) {
+        Memory memory = measure(session.profileDir);
+        synchronized (session) {
+            session.peak = session.peak.max(memory);
+        }
+        return memory;
+    }
+
+    /**
+     * Logs startup and peak memory per browser and launch profile, with the
+     * number of such browsers that fit in the host's free memory, and writes
+     * one row per session to launch.footprint.file
+     */
+    public void report() {
+        List<Session> all;
+        synchronized (open) {
+            open.values().forEach(this::sample);
+            all = new ArrayList<>(open.values());
+        }
+        all.addAll(closed);
+        if (all.isEmpty()) {
+            return;
+        }
+        all.sort(Comparator.comparingInt(session -> session.id));
+
+        String windowMode = windowMode();
+        Map<String, List<Session>> byProfile = all.stream().collect(Collectors.groupingBy(
+                session -> session.browser + "/" + session.profile, LinkedHashMap::new, Collectors.toList()));
+        long freeMb = BrowserScheduler.freePhysicalMemoryMb();
+        byProfile.forEach((name, group) -> {
+            long[] startup = group.stream().mapToLong(session -> session.startupMillis).sorted().toArray();
+            long maxPssMb = group.stream().mapToLong(session -> session.peak.getPssKb()).max().orElse(0) / 1024;
+            long avgPssMb = (long) group.stream().mapToLong(session -> session.peak.getPssKb())
+                    .average().orElse(0) / 1024;
+            long maxRssMb = group.stream().mapToLong(session -> session.peak.getRssKb()).max().orElse(0) / 1024;
+            if (maxPssMb == 0) {
+                logger.info("Launch profile {}: {} session(s), startup median {} ms, max {} ms "
+                                + "(memory is only measured on Linux)",
+                        name, group.size(), startup[startup.length / 2], startup[startup.length - 1]);
+                return;
+            }
+            logger.info("Launch profile {} (window.mode={}): {} session(s), startup median {} ms, max {} ms; "
+                            + "peak memory avg {} MB, max {} MB PSS ({} MB RSS); ~{} such browsers fit in {} MB free "
+                            + "(configured parallel.memory.per.browser.mb={})",
+                    name, windowMode, group.size(), startup[startup.length / 2], startup[startup.length - 1], avgPssMb,
+                    maxPssMb, maxRssMb, freeMb < 0 ? "?" : freeMb / maxPssMb, freeMb < 0 ? "?" : freeMb,
+                    FrameworkConfig.get().getMemoryPerBrowserMb());
+        });
+        write(all, windowMode);
+    }
+
+    // Product pages open in a new window or the same tab, which changes the peak
+    private static String windowMode() {
+        return FrameworkConfig.get().getWindowMode();
+    }
+
+    private static void write(List<Session> all, String windowMode) {
+        Path csv = FrameworkConfig.get().getFootprintFile();
+        try {
+            Files.createDirectories(csv.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv))) {
+                out.println("session,browser,profile,window_mode,startup_ms,peak_pss_mb,peak_rss_mb,processes");
+                for (Session session : all) {
+                    out.println(session.id + "," + session.browser + "," + session.profile + "," + windowMode + ","
+                            + session.startupMillis + "," + session.peak.getPssKb() / 1024 + ","
+                            + session.peak.getRssKb() / 1024 + "," + session.peak.getProcesses());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write browser footprint to {}: {}", csv, e.getMessage());
+        }
+    }
+
+    /**
+     * Memory of the processes whose command line names the profile
+     * directory, and of all their descendants
+     */
+    static Memory measure(Path profileDir) {
+        if (!Files.isDirectory(PROC)) {
+            return Memory.NONE;
+        }
+        String marker = profileDir.toString();
+        Map<Long, ProcessHandle> processes = new LinkedHashMap<>();
+        ProcessHandle.allProcesses()
+                .filter(process -> process.info().arguments()
+                        .map(args -> Arrays.stream(args).anyMatch(arg -> arg.contains(marker)))
+                        .orElse(false))
+                .flatMap(process -> Stream.concat(Stream.of(process), process.descendants()))
+                .forEach(process -> processes.putIfAbsent(process.pid(), process));
+
+        long rss = 0;
+        long pss = 0;
+        for (long pid : processes.keySet()) {
+            Optional<long[]> memory = readMemory(pid);
+            if (memory.isPresent()) {
+                rss += memory.get()[0];
+                pss += memory.get()[1];
+            }
+        }
+        return new Memory(rss, pss, processes.size());
+    }
+
+    // {rss, pss} in kB; PSS needs smaps_rollup (Linux 4.14+), otherwise RSS stands in for it
+    private static Optional<long[]> readMemory(long pid) {
+        Path process = PROC.resolve(String.valueOf(pid));
+        try {
+            Path rollup = process.resolve("smaps_rollup");
+            if (Files.isReadable(rollup)) {
+                List<String> lines = Files.readAllLines(rollup);
+                return Optional.of(new long[]{field(lines, "Rss:"), field(lines, "Pss:")});
+            }
+            long rss = field(Files.readAllLines(process.resolve("status")), "VmRSS:");
+            return Optional.of(new long[]{rss, rss});
+        } catch (IOException | RuntimeException e) {
+            // The process exited between listing and reading
+            return Optional.empty();
+        }
+    }
+
+    private static long field(List<String> lines, String name) {
+        for (String line : lines) {
+            if (line.startsWith(name)) {
+                return Long.parseLong(line.substring(name.length()).trim().split("\\s+")[0]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Deletes a browser profile directory, logging rather than failing when it cannot
+     */
+    static void deleteRecursively(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not delete browser profile {}: {}", dir, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.myntra.factory;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * WebDriver that answers every call with an empty value, for code that needs
+ * page objects but no browser: the benchmarks, which measure framework code
+ * without paying for a browser round trip, and the locator preflight
+ */
+public final class StubDriver {
+
+    private static final InvocationHandler EMPTY_ANSWERS = (proxy, method, args) -> {
+        Class<?> type = method.getReturnType();
+        if (method.getName().equals("hashCode")) {
+            return System.identityHashCode(proxy);
+        }
+        if (method.getName().equals("equals")) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("toString")) {
+            return "StubDriver";
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (type == List.class) {
+            return Collections.emptyList();
+        }
+        if (type == Set.class) {
+            return Collections.emptySet();
+        }
+        if (type.isInterface()) {
+            return stub(type);
+        }
+        return null;
+    };
+
+    private StubDriver() {
+    }
+
+    public static WebDriver create() {
+        return (WebDriver) Proxy.newProxyInstance(StubDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, EMPTY_ANSWERS);
+    }
+
+    private static Object stub(Class<?> type) {
+        return Proxy.newProxyInstance(StubDriver.class.getClassLoader(), new Class<?>[]{type}, EMPTY_ANSWERS);
+    }
+}
@@ -0,0 +1,87 @@
+package com.myntra.history;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Expected run time for an ordered list of scenarios: the serial total and
+ * the makespan when they are dispatched in that order to a fixed number of
+ * parallel slots, each scenario going to the first slot that frees up.
+ * The runner publishes the forecast for the run so it can be compared with
+ * the actual durations at the end.
+ */
+public final class RunForecast {
+
+    private static volatile RunForecast current;
+
+    private final Map<String, Long> estimates;
+    private final int slots;
+    private final int unknown;
+    private final long makespanMillis;
+
+    private RunForecast(Map<String, Long> estimates, int slots, int unknown, long makespanMillis) {
+        this.estimates = Collections.unmodifiableMap(estimates);
+        this.slots = slots;
+        this.unknown = unknown;
+        this.makespanMillis = makespanMillis;
+    }
+
+    public static RunForecast of(List<String> orderedKeys, ScenarioHistory history, int slots) {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        int unknown = 0;
+        PriorityQueue<Long> slotFreeAt = new PriorityQueue<>(Collections.nCopies(Math.max(1, slots), 0L));
+        for (String key : orderedKeys) {
+            long estimate = history.estimate(key);
+            estimates.put(key, estimate);
+            if (!history.isKnown(key)) {
+                unknown++;
+            }
+            slotFreeAt.add(slotFreeAt.poll() + estimate);
+        }
+        long makespan = slotFreeAt.stream().mapToLong(Long::longValue).max().orElse(0);
+        return new RunForecast(estimates, Math.max(1, slots), unknown, makespan);
+    }
+
+    public static void publish(RunForecast forecast) {
+        current = forecast;
+    }
+
+    /**
+     * Forecast for the current run, null when the runner did not publish one
+     */
+    public static RunForecast current() {
+        return current;
+    }
+
+    public Map<String, Long> getEstimates() {
+        return estimates;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    /**
+     * Scenarios without history, estimated from the median
+     */
+    public int getUnknown() {
+        return unknown;
+    }
+
+    public long getSerialMillis() {
+        return estimates.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getMakespanMillis() {
+        return makespanMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d scenario(s) (%d without history): %ds serial, ~%ds on %d slot(s)",
+                estimates.size(), unknown, getSerialMillis() / 1000, makespanMillis / 1000, slots);
+    }
+}
@@ -0,0 +1,289 @@
+package com.myntra.history;
+
+import com.myntra.utils.FrameworkConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Outcome and duration of every scenario run, kept as an append-only,
+ * tab-separated file in history.dir (one line per scenario run). Writers
+ * hold a file lock, so parallel forks on one host can append safely. The
+ * file is compacted to the newest history.max.runs entries per scenario once
+ * it grows well past that.
+ */
+public final class ScenarioHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioHistory.class);
+    private static final String FILE_NAME = "history.tsv";
+    private static final long DEFAULT_ESTIMATE_MS = 60_000;
+
+    public static final String PASSED = "passed";
+    public static final String FAILED = "failed";
+
+    public static final class Entry {
+
+        private final long timestamp;
+        private final String key;
+        private final String status;
+        private final long durationMillis;
+
+        public Entry(long timestamp, String key, String status, long durationMillis) {
+            this.timestamp = timestamp;
+            this.key = key;
+            this.status = status;
+            this.durationMillis = durationMillis;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public boolean isFailed() {
+            return FAILED.equals(status);
+        }
+
+        private String toLine() {
+            return timestamp + "\t" + key + "\t" + status + "\t" + durationMillis;
+        }
+
+        private static Entry parse(String line) {
+            String[] fields = line.split("\t");
+            return new Entry(Long.parseLong(fields[0]), fields[1], fields[2], Long.parseLong(fields[3]));
+        }
+    }
+
+    // Oldest first per scenario
+    private final Map<String, List<Entry>> byKey;
+    private final int window;
+    private final long median;
+
+    private ScenarioHistory(Map<String, List<Entry>> byKey, int window) {
+        this.byKey = byKey;
+        this.window = window;
+        this.median = median(byKey.keySet().stream().mapToLong(this::knownEstimate).sorted().toArray());
+    }
+
+    public static Path file() {
+        return FrameworkConfig.get().getHistoryDir().resolve(FILE_NAME);
+    }
+
+    private static int maxRuns() {
+        return FrameworkConfig.get().getHistoryMaxRuns();
+    }
+
+    /**
+     * Runs considered for estimates and for "recently failed"
+     */
+    private static int window() {
+        return FrameworkConfig.get().getHistoryWindow();
+    }
+
+    public static ScenarioHistory load() {
+        return load(file());
+    }
+
+    public static ScenarioHistory load(Path file) {
+        return new ScenarioHistory(group(read(file)), window());
+    }
+
+    private static List<Entry> read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank())
+                    .map(Entry::parse)
+                    .collect(Collectors.toList());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read scenario history from {}: {}", file, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static Map<String, List<Entry>> group(List<Entry> entries) {
+        Map<String, List<Entry>> byKey = new HashMap<>();
+        for (Entry entry : entries) {
+            byKey.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(entry);
+        }
+        return byKey;
+    }
+
+    public boolean isEmpty() {
+        return byKey.isEmpty();
+    }
+
+    public boolean isKnown(String key) {
+        return byKey.containsKey(key);
+    }
+
+    /**
+     * Mean duration of the recent passing runs, or of any recent runs when
+     * none passed; the median of all known scenarios for a new one
+     */
+    public long estimate(String key) {
+        return isKnown(key) ? knownEstimate(key) : median;
+    }
+
+    private long knownEstimate(String key) {
+        List<Entry> recent = recent(key);
+        List<Entry> passed = recent.stream().filter(entry -> PASSED.equals(entry.getStatus())).collect(Collectors.toList());
+        return (long) (passed.isEmpty() ? recent : passed).stream()
+                .mapToLong(Entry::getDurationMillis)
+                .average()
+                .orElse(DEFAULT_ESTIMATE_MS);
+    }
+
+    /**
+     * Time of the latest failure among the recent runs, empty when they all passed
+     */
+    public OptionalLong lastFailure(String key) {
+        return recent(key).stream()
+                .filter(Entry::isFailed)
+                .mapToLong(Entry::getTimestamp)
+                .max();
+    }
+
+    private List<Entry> recent(String key) {
+        List<Entry> entries = byKey.getOrDefault(key, List.of());
+        return entries.subList(Math.max(0, entries.size() - window), entries.size());
+    }
+
+    private static long median(long[] sorted) {
+        return sorted.length == 0 ? DEFAULT_ESTIMATE_MS : sorted[sorted.length / 2];
+    }
+
+    /**
+     * Appends the entries, compacting the file when it has grown to more than
+     * twice the retained runs per scenario
+     */
+    public static void append(Path file, Collection<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                        for (Entry entry : entries) {
+                            writer.write(entry.toLine());
+                            writer.newLine();
+                        }
+                    }
+                    compactIfNeeded(file);
+                } finally {
+                    lock.release();
+                }
+            }
+            logger.info("Recorded {} scenario run(s) in {}", entries.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not append to scenario history {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void compactIfNeeded(Path file) throws IOException {
+        List<Entry> all = read(file);
+        Map<String, List<Entry>> byKey = group(all);
+        int maxRuns = maxRuns();
+        if (all.size() <= 2L * maxRuns * byKey.size()) {
+            return;
+        }
+        Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        Map<String, Integer> seen = new HashMap<>();
+        try (BufferedWriter writer = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (Entry entry : all) {
+                int position = seen.merge(entry.getKey(), 1, Integer::sum);
+                if (position > byKey.get(entry.getKey()).size() - maxRuns) {
+                    writer.write(entry.toLine());
+                    writer.newLine();
+                }
+            }
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.debug("Compacted scenario history to the last {} run(s) per scenario", maxRuns);
+    }
+
+    /**
+     * Entries for the scenarios in a Cucumber JSON report, used when merging
+     * reports collected from other machines. Duration is the sum of hooks and
+     * steps, plus the background that Cucumber reports as a separate element.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Entry> fromReport(Path cucumberJson, long timestamp) throws IOException {
+        List<Map<String, Object>> features;
+        try (Reader reader = Files.newBufferedReader(cucumberJson, StandardCharsets.UTF_8)) {
+            features = new Json().toType(reader, Json.LIST_OF_MAPS_TYPE);
+        }
+        List<Entry> entries = new ArrayList<>();
+        for (Map<String, Object> feature : features) {
+            String uri = String.valueOf(feature.get("uri"));
+            long backgroundNanos = 0;
+            String backgroundStatus = PASSED;
+            for (Map<String, Object> element : (List<Map<String, Object>>) feature.getOrDefault("elements", List.of())) {
+                long nanos = 0;
+                String status = PASSED;
+                for (String section : List.of("before", "steps", "after")) {
+                    for (Map<String, Object> step : (List<Map<String, Object>>) element.getOrDefault(section, List.of())) {
+                        Map<String, Object> result = (Map<String, Object>) step.getOrDefault("result", Map.of());
+                        nanos += ((Number) result.getOrDefault("duration", 0L)).longValue();
+                        status = worse(status, String.valueOf(result.getOrDefault("status", PASSED)));
+                    }
+                }
+                if ("background".equals(element.get("type"))) {
+                    backgroundNanos = nanos;
+                    backgroundStatus = status;
+                    continue;
+                }
+                long line = ((Number) element.get("line")).longValue();
+                entries.add(new Entry(timestamp, ScenarioKey.of(uri, line), worse(backgroundStatus, status),
+                        (nanos + backgroundNanos) / 1_000_000));
+                backgroundNanos = 0;
+                backgroundStatus = PASSED;
+            }
+        }
+        return entries;
+    }
+
+    // Same precedence as Cucumber's scenario status: any failure wins, then anything not passed
+    private static String worse(String current, String next) {
+        if (FAILED.equals(current) || FAILED.equals(next)) {
+            return FAILED;
+        }
+        return PASSED.equals(current) ? next : current;
+    }
+}
@@ -0,0 +1,103 @@
+package com.myntra.history;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Cucumber plugin that appends every finished scenario to the
+ * {@link ScenarioHistory} and reports predicted against actual run time,
+ * in the log and as last-run.json next to the history file
+ */
+public class ScenarioHistoryPlugin implements ConcurrentEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioHistoryPlugin.class);
+
+    private final Queue<ScenarioHistory.Entry> entries = new ConcurrentLinkedQueue<>();
+    private volatile Instant started = Instant.now();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> started = event.getInstant());
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onRunFinished);
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        entries.add(new ScenarioHistory.Entry(
+                event.getInstant().toEpochMilli(),
+                ScenarioKey.of(testCase.getUri().toString(), testCase.getLocation().getLine()),
+                event.getResult().getStatus().name().toLowerCase(Locale.ROOT),
+                event.getResult().getDuration().toMillis()));
+    }
+
+    private void onRunFinished(TestRunFinished event) {
+        List<ScenarioHistory.Entry> finished = new ArrayList<>(entries);
+        Path file = ScenarioHistory.file();
+        ScenarioHistory.append(file, finished);
+        report(finished, Duration.between(started, event.getInstant()).toMillis(), file.resolveSibling("last-run.json"));
+    }
+
+    private static void report(List<ScenarioHistory.Entry> finished, long wallMillis, Path output) {
+        RunForecast forecast = RunForecast.current();
+        long actualSerial = finished.stream().mapToLong(ScenarioHistory.Entry::getDurationMillis).sum();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenarios", finished.size());
+        summary.put("failed", finished.stream().filter(ScenarioHistory.Entry::isFailed).count());
+        summary.put("actualSerialMs", actualSerial);
+        summary.put("actualWallMs", wallMillis);
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (ScenarioHistory.Entry entry : finished) {
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("key", entry.getKey());
+            scenario.put("status", entry.getStatus());
+            scenario.put("actualMs", entry.getDurationMillis());
+            if (forecast != null && forecast.getEstimates().containsKey(entry.getKey())) {
+                scenario.put("predictedMs", forecast.getEstimates().get(entry.getKey()));
+            }
+            scenarios.add(scenario);
+        }
+
+        if (forecast != null) {
+            summary.put("order", ScenarioOrder.configured().name().toLowerCase(Locale.ROOT).replace('_', '-'));
+            summary.put("slots", forecast.getSlots());
+            summary.put("predictedSerialMs", forecast.getSerialMillis());
+            summary.put("predictedWallMs", forecast.getMakespanMillis());
+            logger.info("Run time predicted {}s on {} slot(s), actual {}s ({}s of scenario time, predicted {}s)",
+                    forecast.getMakespanMillis() / 1000, forecast.getSlots(), wallMillis / 1000,
+                    actualSerial / 1000, forecast.getSerialMillis() / 1000);
+        } else {
+            logger.info("Run took {}s ({}s of scenario time)", wallMillis / 1000, actualSerial / 1000);
+        }
+        summary.put("scenarioRuns", scenarios);
+
+        try {
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            Files.writeString(output, new Json().toJson(summary), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Could not write run summary to {}: {}", output, e.getMessage());
+        }
+    }
+}
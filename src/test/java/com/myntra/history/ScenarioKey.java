@@ -0,0 +1,40 @@
+package com.myntra.history;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Identifies a scenario, or one Scenario Outline example, across runs as
+ * "path/to/file.feature:line" relative to the working directory. Cucumber
+ * accepts the same form as a feature path.
+ */
+public final class ScenarioKey {
+
+    private ScenarioKey() {
+    }
+
+    /**
+     * Normalises a feature URI as written by Cucumber ("file:src/...",
+     * absolute file URIs or plain paths)
+     */
+    public static String of(String uri, long line) {
+        String path = uri.startsWith("file:") ? Paths.get(URI.create(absolute(uri))).toString() : uri;
+        return of(Paths.get(path), line);
+    }
+
+    public static String of(Path file, long line) {
+        Path relative = file.isAbsolute()
+                ? Paths.get("").toAbsolutePath().relativize(file.normalize())
+                : file.normalize();
+        return relative.toString().replace('\\', '/') + ":" + line;
+    }
+
+    // "file:src/..." is a relative URI that Paths cannot resolve directly
+    private static String absolute(String uri) {
+        if (uri.startsWith("file:/")) {
+            return uri;
+        }
+        return Paths.get(uri.substring("file:".length())).toAbsolutePath().toUri().toString();
+    }
+}
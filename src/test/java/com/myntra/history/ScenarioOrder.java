@@ -0,0 +1,49 @@
+package com.myntra.history;
+
+import com.myntra.utils.FrameworkConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Order in which scenarios are handed to the runner, set by scenario.order:
+ * file keeps feature-file order, longest-first starts the slowest scenarios
+ * first so parallel slots finish together, and failed-first runs scenarios
+ * that failed recently (latest failure first) before the rest.
+ */
+public enum ScenarioOrder {
+
+    FILE,
+    LONGEST_FIRST,
+    FAILED_FIRST;
+
+    public static ScenarioOrder configured() {
+        return parse(FrameworkConfig.get().getScenarioOrder());
+    }
+
+    public static ScenarioOrder parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    /**
+     * Sorts a copy of the items; ties keep their feature-file order
+     */
+    public <T> List<T> sort(List<T> items, Function<T, String> key, ScenarioHistory history) {
+        List<T> sorted = new ArrayList<>(items);
+        switch (this) {
+            case LONGEST_FIRST:
+                sorted.sort(Comparator.comparingLong((T item) -> history.estimate(key.apply(item))).reversed());
+                break;
+            case FAILED_FIRST:
+                sorted.sort(Comparator.comparingLong((T item) ->
+                        history.lastFailure(key.apply(item)).orElse(Long.MIN_VALUE)).reversed());
+                break;
+            default:
+                break;
+        }
+        return sorted;
+    }
+}
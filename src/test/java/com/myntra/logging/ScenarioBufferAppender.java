@@ -0,0 +1,131 @@
+package com.myntra.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Holds events logged while a scenario is running (MDC key
+ * {@link ScenarioLog#MDC_KEY}, the scenario id) in memory and forwards them
+ * to the attached appenders only if the scenario fails. Events outside a
+ * scenario are forwarded straight away.
+ * Each scenario keeps at most maxEvents; older events are dropped first.
+ */
+public class ScenarioBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final Set<ScenarioBufferAppender> instances = new CopyOnWriteArraySet<>();
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    private int maxEvents = 2000;
+
+    private static final class Buffer {
+        final Deque<ILoggingEvent> events = new ArrayDeque<>();
+        int dropped;
+    }
+
+    public void setMaxEvents(int maxEvents) {
+        this.maxEvents = maxEvents;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        instances.add(this);
+    }
+
+    @Override
+    public void stop() {
+        instances.remove(this);
+        buffers.clear();
+        super.stop();
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        String scenario = event.getMDCPropertyMap().get(ScenarioLog.MDC_KEY);
+        if (scenario == null) {
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        // Freeze the formatted message and MDC before the event outlives this call
+        event.prepareForDeferredProcessing();
+        Buffer buffer = buffers.computeIfAbsent(scenario, key -> new Buffer());
+        synchronized (buffer) {
+            buffer.events.addLast(event);
+            if (buffer.events.size() > maxEvents) {
+                buffer.events.removeFirst();
+                buffer.dropped++;
+            }
+        }
+    }
+
+    /**
+     * Ends buffering for a scenario, forwarding its events when emit is true
+     *
+     * @return number of events that were dropped because the buffer was full
+     */
+    static int release(String scenario, boolean emit) {
+        int dropped = 0;
+        for (ScenarioBufferAppender instance : instances) {
+            Buffer buffer = instance.buffers.remove(scenario);
+            if (buffer == null) {
+                continue;
+            }
+            synchronized (buffer) {
+                dropped = Math.max(dropped, buffer.dropped);
+                if (emit) {
+                    buffer.events.forEach(instance.appenders::appendLoopOnAppenders);
+                }
+            }
+        }
+        return dropped;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,44 @@
+package com.myntra.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Marks the current thread as running a scenario so its log lines are
+ * buffered by {@link ScenarioBufferAppender}. A failed scenario's buffer is
+ * written out in full; a passing scenario is reduced to one summary line.
+ */
+public final class ScenarioLog {
+
+    static final String MDC_KEY = "scenarioId";
+    private static final String MDC_NAME = "scenario";
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioLog.class);
+
+    private ScenarioLog() {
+    }
+
+    public static void begin(String scenarioId, String scenarioName) {
+        MDC.put(MDC_KEY, scenarioId);
+        MDC.put(MDC_NAME, scenarioName);
+    }
+
+    public static void end(String scenarioName, String status, boolean failed, long elapsedMillis) {
+        String scenarioId = MDC.get(MDC_KEY);
+        MDC.remove(MDC_KEY);
+        MDC.remove(MDC_NAME);
+        if (scenarioId == null) {
+            return;
+        }
+
+        int dropped = ScenarioBufferAppender.release(scenarioId, failed);
+        if (failed) {
+            if (dropped > 0) {
+                logger.warn("{} earlier log lines of '{}' were dropped from the scenario buffer", dropped, scenarioName);
+            }
+            logger.error("Scenario {}: {} ({} ms)", status, scenarioName, elapsedMillis);
+        } else {
+            logger.info("Scenario {}: {} ({} ms)", status, scenarioName, elapsedMillis);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.myntra.metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of latency histograms.
+ * Categories group related timings: "step" for Cucumber steps, "page" for
+ * page-object methods, "action" for BasePage primitives and "wait" for
+ * readiness waits.
+ */
+public final class Metrics {
+
+    public static final String STEP = "step";
+    public static final String PAGE = "page";
+    public static final String ACTION = "action";
+    public static final String WAIT = "wait";
+    public static final String STARTUP = "startup";
+    public static final String NAVIGATION = "navigation";
+    public static final String CHECKPOINT = "checkpoint";
+
+    private static final Map<MetricKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public static void record(String category, String name, long elapsedNanos) {
+        histograms.computeIfAbsent(new MetricKey(category, name), k -> new LatencyHistogram())
+                .recordNanos(elapsedNanos);
+    }
+
+    public static void time(String category, String name, Runnable body) {
+        long start = System.nanoTime();
+        try {
+            body.run();
+        } finally {
+            record(category, name, System.nanoTime() - start);
+        }
+    }
+
+    public static <T> T time(String category, String name, Supplier<T> body) {
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            record(category, name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Histograms sorted by category and name
+     */
+    public static Map<MetricKey, LatencyHistogram> snapshot() {
+        return new TreeMap<>(histograms);
+    }
+
+    public static final class MetricKey implements Comparable<MetricKey> {
+
+        private final String category;
+        private final String name;
+
+        MetricKey(String category, String name) {
+            this.category = category;
+            this.name = name;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int compareTo(MetricKey other) {
+            int byCategory = category.compareTo(other.category);
+            return byCategory != 0 ? byCategory : name.compareTo(other.name);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof MetricKey)) {
+                return false;
+            }
+            MetricKey key = (MetricKey) other;
+            return category.equals(key.category) && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, name);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.myntra.metrics;
+
+import com.myntra.utils.FrameworkConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the latency histograms as JSON and Prometheus text format
+ */
+public final class MetricsExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsExporter.class);
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final String METRIC = "myntra_latency_seconds";
+
+    private MetricsExporter() {
+    }
+
+    public static void export() {
+        Map<Metrics.MetricKey, LatencyHistogram> snapshot = Metrics.snapshot();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        Path dir = FrameworkConfig.get().getMetricsDir();
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("latency.json"), toJson(snapshot), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("latency.prom"), toPrometheus(snapshot), StandardCharsets.UTF_8);
+            logger.info("Latency metrics for {} operations exported to {}", snapshot.size(), dir.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Could not export latency metrics to {}: {}", dir, e.getMessage());
+        }
+    }
+
+    static String toJson(Map<Metrics.MetricKey, LatencyHistogram> snapshot) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        snapshot.forEach((key, histogram) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("category", key.getCategory());
+            entry.put("name", key.getName());
+            entry.put("count", histogram.getCount());
+            entry.put("p50Ms", round(histogram.getPercentileMillis(0.5)));
+            entry.put("p90Ms", round(histogram.getPercentileMillis(0.9)));
+            entry.put("p99Ms", round(histogram.getPercentileMillis(0.99)));
+            entry.put("maxMs", round(histogram.getMaxMillis()));
+            entry.put("totalMs", round(histogram.getSumMillis()));
+            entries.add(entry);
+        });
+        return new Json().toJson(entries);
+    }
+
+    static String toPrometheus(Map<Metrics.MetricKey, LatencyHistogram> snapshot) {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP ").append(METRIC).append(" Latency of framework steps, page methods, actions and waits\n");
+        out.append("# TYPE ").append(METRIC).append(" summary\n");
+        snapshot.forEach((key, histogram) -> {
+            String labels = "category=\"" + escape(key.getCategory()) + "\",name=\"" + escape(key.getName()) + "\"";
+            for (double quantile : QUANTILES) {
+                out.append(METRIC).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.getPercentileMillis(quantile))).append('\n');
+            }
+            out.append(METRIC).append("_sum{").append(labels).append("} ")
+                    .append(seconds(histogram.getSumMillis())).append('\n');
+            out.append(METRIC).append("_count{").append(labels).append("} ")
+                    .append(histogram.getCount()).append('\n');
+        });
+        return out.toString();
+    }
+
+    private static String seconds(double millis) {
+        return String.format(Locale.ROOT, "%.6f", millis / 1_000.0);
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,25 @@
+package com.myntra.metrics;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * Cucumber plugin that records the duration of every Gherkin step,
+ * aggregated by step-definition pattern
+ */
+public class StepMetricsPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            Metrics.record(Metrics.STEP, step.getPattern(), event.getResult().getDuration().toNanos());
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.myntra.pages;
 
 import com.myntra.factory.DriverFactory;
+import com.myntra.factory.NetworkProfile;
+import com.myntra.factory.NetworkShaper;
+import com.myntra.metrics.Metrics;
+import com.myntra.reporting.ScreenshotPipeline;
+import com.myntra.utils.FrameworkConfig;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -8,8 +13,22 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class BasePage {
 
@@ -18,59 +37,277 @@ public class BasePage {
     protected Actions actions;
     protected static final Logger logger = LoggerFactory.getLogger(BasePage.class);
 
+    /** Config snapshot taken when the page is created, so a runtime override applies to later pages */
+    protected final FrameworkConfig config = FrameworkConfig.get();
+
+    private final ElementCache elementCache = new ElementCache();
+    private Map<String, Object> lastProbe;
+
+    private static final String DOM_HELPERS = loadScript("scripts/dom-helpers.js");
+    private static final String READINESS_PROBE = DOM_HELPERS + loadScript("scripts/readiness-probe.js");
+    private static final String DOM_SNAPSHOT = DOM_HELPERS + loadScript("scripts/dom-snapshot.js");
+
     public BasePage() {
+        this(null);
+    }
+
+    /**
+     * Creates the page and switches the session to the given network profile,
+     * or keeps the scenario's profile when it is null
+     */
+    protected BasePage(NetworkProfile profile) {
         this.driver = DriverFactory.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        if (driver == null) {
+            // Page objects are per scenario thread; each must see its own driver
+            throw new IllegalStateException("No WebDriver bound to thread " + Thread.currentThread().getName()
+                    + " - create page objects after Hooks.setUp");
+        }
+        this.wait = new WebDriverWait(driver, config.getExplicitWait());
         this.actions = new Actions(driver);
+
+        if (profile != null) {
+            NetworkShaper.apply(driver, profile);
+        }
+    }
+
+    /**
+     * Times a page-object method, recorded as PageClass.method
+     */
+    protected void timed(String method, Runnable body) {
+        Metrics.time(Metrics.PAGE, getClass().getSimpleName() + "." + method, body);
     }
 
+    protected <T> T timed(String method, Supplier<T> body) {
+        return Metrics.time(Metrics.PAGE, getClass().getSimpleName() + "." + method, body);
+    }
+
+    /**
+     * Returns the visible element, reusing this page's cached handle when it
+     * is still attached and displayed
+     */
     protected WebElement waitForElementVisible(By locator) {
         logger.debug("Waiting for element to be visible: {}", locator);
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return Metrics.time(Metrics.ACTION, "BasePage.waitForElementVisible", () -> {
+            WebElement cached = elementCache.get(locator, WebElement::isDisplayed);
+            if (cached != null) {
+                return cached;
+            }
+            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            elementCache.put(locator, element);
+            return element;
+        });
     }
 
     protected WebElement waitForElementClickable(By locator) {
         logger.debug("Waiting for element to be clickable: {}", locator);
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return Metrics.time(Metrics.ACTION, "BasePage.waitForElementClickable", () -> {
+            WebElement cached = elementCache.get(locator, element -> element.isDisplayed() && element.isEnabled());
+            if (cached != null) {
+                return cached;
+            }
+            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+            elementCache.put(locator, element);
+            return element;
+        });
     }
 
     protected void clickElement(By locator) {
-        waitForElementClickable(locator).click();
-        logger.info("Clicked on element: {}", locator);
+        Metrics.time(Metrics.ACTION, "BasePage.clickElement",
+                () -> withFreshElement(locator, this::waitForElementClickable, element -> {
+                    element.click();
+                    return null;
+                }));
+        logger.debug("Clicked on element: {}", locator);
     }
 
     protected void enterText(By locator, String text) {
-        WebElement element = waitForElementVisible(locator);
-        element.clear();
-        element.sendKeys(text);
-        logger.info("Entered text '{}' in element: {}", text, locator);
+        Metrics.time(Metrics.ACTION, "BasePage.enterText",
+                () -> withFreshElement(locator, this::waitForElementVisible, element -> {
+                    element.clear();
+                    element.sendKeys(text);
+                    return null;
+                }));
+        logger.debug("Entered text '{}' in element: {}", text, locator);
     }
 
     protected String getElementText(By locator) {
-        String text = waitForElementVisible(locator).getText();
+        String text = Metrics.time(Metrics.ACTION, "BasePage.getElementText",
+                () -> withFreshElement(locator, this::waitForElementVisible, WebElement::getText));
         logger.debug("Retrieved text '{}' from element: {}", text, locator);
         return text;
     }
 
+    /**
+     * Runs an action on a resolved element, re-resolving once if the handle
+     * went stale between the lookup and the action
+     */
+    private <T> T withFreshElement(By locator, Function<By, WebElement> resolver, Function<WebElement, T> action) {
+        try {
+            return action.apply(resolver.apply(locator));
+        } catch (StaleElementReferenceException e) {
+            elementCache.invalidate(locator);
+            return action.apply(resolver.apply(locator));
+        }
+    }
+
+    /**
+     * Reads count, visibility, text and the requested attributes for every
+     * locator in one executeScript round trip
+     *
+     * @param locators   locators keyed by the name used to read the result
+     * @param attributes attributes to read from each first match
+     */
+    @SuppressWarnings("unchecked")
+    protected DomSnapshot snapshot(Map<String, By> locators, String... attributes) {
+        List<List<String>> entries = locators.entrySet().stream()
+                .map(entry -> {
+                    List<String> scriptLocator = Locators.toScriptLocator(entry.getValue());
+                    return List.of(entry.getKey(), scriptLocator.get(0), scriptLocator.get(1));
+                })
+                .collect(Collectors.toList());
+
+        Map<String, Object> raw = Metrics.time(Metrics.ACTION, "BasePage.snapshot",
+                () -> (Map<String, Object>) ((JavascriptExecutor) driver)
+                        .executeScript(DOM_SNAPSHOT, entries, Arrays.asList(attributes)));
+
+        Map<String, DomSnapshot.ElementFacts> facts = new LinkedHashMap<>();
+        raw.forEach((key, value) -> {
+            Map<String, Object> element = (Map<String, Object>) value;
+            facts.put(key, new DomSnapshot.ElementFacts(
+                    ((Number) element.get("count")).intValue(),
+                    Boolean.TRUE.equals(element.get("visible")),
+                    String.valueOf(element.get("text")),
+                    (Map<String, String>) element.get("attributes")));
+        });
+        return new DomSnapshot(facts);
+    }
+
+    protected DomSnapshot.ElementFacts snapshot(By locator, String... attributes) {
+        return snapshot(Map.of("element", locator), attributes).get("element");
+    }
+
+    /**
+     * Zero-budget visibility check in a single round trip; never waits for the element to appear
+     */
     protected boolean isElementDisplayed(By locator) {
+        return snapshot(locator).isVisible();
+    }
+
+    /**
+     * Waits at most the given budget for the element to become visible,
+     * polling with one round trip per attempt
+     */
+    protected boolean isDisplayedWithin(By locator, Duration budget) {
         try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (NoSuchElementException e) {
+            new WebDriverWait(driver, budget, config.getLookupPoll())
+                    .ignoring(JavascriptException.class)
+                    .until(d -> isElementDisplayed(locator));
+            return true;
+        } catch (TimeoutException e) {
             return false;
         }
     }
 
-    protected void switchToNewWindow() {
-        String parentWindow = driver.getWindowHandle();
-        wait.until(driver -> driver.getWindowHandles().size() > 1);
+    /**
+     * Zero-budget presence check in the DOM, regardless of visibility
+     */
+    protected boolean isPresent(By locator) {
+        return withoutImplicitWait(() -> !driver.findElements(locator).isEmpty());
+    }
 
-        Set<String> windows = driver.getWindowHandles();
-        for (String window : windows) {
-            if (!window.equals(parentWindow)) {
-                driver.switchTo().window(window);
-                logger.info("Switched to new window. Total windows: {}", driver.getWindowHandles().size());
-                break;
+    /**
+     * Waits at most the given budget for the element to be attached to the DOM
+     */
+    protected boolean isPresentWithin(By locator, Duration budget) {
+        return withoutImplicitWait(() -> {
+            try {
+                new WebDriverWait(driver, budget, config.getLookupPoll())
+                        .until(ExpectedConditions.presenceOfElementLocated(locator));
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Zero-budget absence check
+     */
+    protected boolean isAbsent(By locator) {
+        return !isPresent(locator);
+    }
+
+    /**
+     * Waits at most the given budget for every matching element to disappear
+     */
+    protected boolean isAbsentWithin(By locator, Duration budget) {
+        return withoutImplicitWait(() -> {
+            try {
+                new WebDriverWait(driver, budget, config.getLookupPoll())
+                        .until(d -> d.findElements(locator).isEmpty());
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Runs a lookup with the implicit wait switched off so negative results
+     * return immediately. A no-op in explicit lookup mode.
+     */
+    private <T> T withoutImplicitWait(Supplier<T> lookup) {
+        Duration implicitWait = DriverFactory.getImplicitWait();
+        if (implicitWait.isZero()) {
+            return lookup.get();
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return lookup.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+    }
+
+    /**
+     * Follows a link that the site opens in a new window, as window.mode
+     * says: into the new window, closing the one left behind, or by loading
+     * its href in the current tab. Page objects created afterwards work on
+     * the window that shows the link's target.
+     */
+    protected void followToNewWindow(By link) {
+        Metrics.time(Metrics.ACTION, "BasePage.followToNewWindow (" + WindowManager.mode() + ")",
+                () -> WindowManager.follow(driver, wait, waitForElementClickable(link)));
+    }
+
+    /**
+     * Runs an action that navigates, e.g. a link click, and returns once the
+     * browser has left the current document: its URL changed or its root
+     * element went stale. Until then a readiness probe would still see the
+     * old page, whose readiness signals already hold.
+     */
+    protected void navigateBy(Runnable action) {
+        String from = driver.getCurrentUrl();
+        WebElement root = driver.findElement(By.tagName("html"));
+        action.run();
+        long start = System.nanoTime();
+        new WebDriverWait(driver, config.getReadinessTimeout(), config.getLookupPoll()).until(d -> {
+            String url = d.getCurrentUrl();
+            // A window opened by the action starts out blank before its first navigation
+            if ("about:blank".equals(url)) {
+                return false;
             }
+            return !url.equals(from) || isStale(root);
+        });
+        Metrics.record(Metrics.WAIT, getClass().getSimpleName() + " navigation start", System.nanoTime() - start);
+    }
+
+    private static boolean isStale(WebElement element) {
+        try {
+            element.isEnabled();
+            return false;
+        } catch (StaleElementReferenceException e) {
+            return true;
         }
     }
 
@@ -80,13 +317,149 @@ public class BasePage {
         logger.debug("Scrolled to element");
     }
 
+    /**
+     * Waits for the document to load: fully in the normal page-load strategy,
+     * only until the DOM is parsed in eager/none
+     */
     protected void waitForPageLoad() {
-        wait.until(driver -> ((JavascriptExecutor) driver)
-                .executeScript("return document.readyState").equals("complete"));
+        boolean eager = config.isEagerNavigation();
+        wait.until(driver -> {
+            Object state = ((JavascriptExecutor) driver).executeScript("return document.readyState");
+            return eager ? !"loading".equals(state) : "complete".equals(state);
+        });
+    }
+
+    /**
+     * What "ready" means for this page. Page objects override this with the
+     * signals they need before interaction.
+     */
+    protected PageReadiness readiness() {
+        return PageReadiness.create()
+                .documentComplete()
+                .domQuietFor(config.getReadinessQuietPeriod());
+    }
+
+    /**
+     * The minimal signals needed before interaction, used instead of
+     * readiness() when page.load.strategy is eager or none and navigation no
+     * longer waits for late third-party resources
+     */
+    protected PageReadiness interactiveReadiness() {
+        return PageReadiness.create()
+                .documentInteractive()
+                .domQuietFor(config.getReadinessQuietPeriod());
+    }
+
+    /**
+     * Waits until this page's readiness signals all hold and records the
+     * time to interactive for the navigation
+     */
+    public void waitForPageReady() {
+        String page = getClass().getSimpleName();
+        waitUntilReady(page, config.isEagerNavigation() ? interactiveReadiness() : readiness());
+
+        // Measured from the document's navigation start; client-side route
+        // changes keep the original document, so their wait shows under "wait" instead
+        Object sinceNavigation = lastProbe == null ? null : lastProbe.get("sinceNavigationMs");
+        if (sinceNavigation instanceof Number) {
+            long millis = ((Number) sinceNavigation).longValue();
+            Metrics.record(Metrics.NAVIGATION, page, TimeUnit.MILLISECONDS.toNanos(millis));
+            logger.info("{} interactive {} ms after navigation start ({} page load)",
+                    page, millis, config.getPageLoadStrategy());
+        }
+    }
+
+    /**
+     * Polls the readiness signals with exponential backoff and returns as soon
+     * as all of them hold. The actual wait time is recorded under the label.
+     */
+    protected void waitUntilReady(String label, PageReadiness readiness) {
+        List<By> locators = readiness.locators();
+        List<List<String>> scriptLocators = locators.stream()
+                .map(Locators::toScriptLocator)
+                .collect(Collectors.toList());
+        Map<By, String> previousRects = new HashMap<>();
+
+        long start = System.nanoTime();
+        long deadline = start + config.getReadinessTimeout().toNanos();
+        long pollMs = config.getReadinessPollInitial().toMillis();
+        String pending;
+
+        while (true) {
+            pending = probeReadiness(readiness, locators, scriptLocators, previousRects);
+            if (pending == null) {
+                break;
+            }
+            if (System.nanoTime() > deadline) {
+                Metrics.record(Metrics.WAIT, label + " (timeout)", System.nanoTime() - start);
+                throw new TimeoutException("Timed out after " + config.getReadinessTimeout().getSeconds()
+                        + "s waiting for " + label + " - still waiting on: " + pending);
+            }
+            try {
+                Thread.sleep(pollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for " + label, e);
+            }
+            pollMs = Math.min((long) (pollMs * config.getReadinessPollBackoff()),
+                    config.getReadinessPollMax().toMillis());
+        }
+
+        long elapsed = System.nanoTime() - start;
+        Metrics.record(Metrics.WAIT, label, elapsed);
+        logger.debug("{} ready in {} ms", label, elapsed / 1_000_000);
+    }
+
+    /**
+     * Like waitUntilReady but reports a timeout as false instead of throwing
+     */
+    protected boolean isReadyWithin(String label, PageReadiness readiness) {
+        try {
+            waitUntilReady(label, readiness);
+            return true;
+        } catch (TimeoutException e) {
+            logger.debug(e.getMessage());
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String probeReadiness(PageReadiness readiness, List<By> locators,
+                                  List<List<String>> scriptLocators, Map<By, String> previousRects) {
+        try {
+            Map<String, Object> probe = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(READINESS_PROBE, scriptLocators);
+            lastProbe = probe;
+            return readiness.pendingSignal(probe, locators, previousRects);
+        } catch (WebDriverException e) {
+            // Document is being replaced mid-navigation; try again on the next poll
+            return "page navigation";
+        }
+    }
+
+    /**
+     * A page script from the classpath with the shared DOM helpers prepended
+     */
+    protected static String pageScript(String resource) {
+        return DOM_HELPERS + loadScript(resource);
+    }
+
+    private static String loadScript(String resource) {
+        try (InputStream in = BasePage.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Script not found on classpath: " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    protected byte[] takeScreenshot() {
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    /**
+     * Queues a screenshot on the background pipeline and returns where it will be written
+     */
+    protected Optional<Path> takeScreenshot(String label) {
+        return ScreenshotPipeline.getInstance().capture(driver, label);
     }
 
     protected String getPageTitle() {
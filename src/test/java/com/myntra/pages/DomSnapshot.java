@@ -0,0 +1,64 @@
+package com.myntra.pages;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Facts about several locators read in a single script round trip.
+ * Text and attributes describe the first matching element.
+ */
+public final class DomSnapshot {
+
+    private final Map<String, ElementFacts> facts;
+
+    DomSnapshot(Map<String, ElementFacts> facts) {
+        this.facts = Collections.unmodifiableMap(new LinkedHashMap<>(facts));
+    }
+
+    public ElementFacts get(String key) {
+        ElementFacts element = facts.get(key);
+        if (element == null) {
+            throw new IllegalArgumentException("Locator '" + key + "' was not part of the snapshot");
+        }
+        return element;
+    }
+
+    public static final class ElementFacts {
+
+        private final int count;
+        private final boolean visible;
+        private final String text;
+        private final Map<String, String> attributes;
+
+        ElementFacts(int count, boolean visible, String text, Map<String, String> attributes) {
+            this.count = count;
+            this.visible = visible;
+            this.text = text;
+            this.attributes = Collections.unmodifiableMap(attributes);
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean isPresent() {
+            return count > 0;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        /**
+         * Visible text of the first match, empty when it is not visible
+         */
+        public String getText() {
+            return text;
+        }
+
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.myntra.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Resolved element handles for one page object.
+ * A cached handle is only returned after a cheap state check on the element
+ * itself; handles that went stale are dropped so the caller re-resolves.
+ */
+final class ElementCache {
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+
+    /**
+     * Returns the cached element if it still satisfies the check, otherwise null
+     */
+    WebElement get(By locator, Predicate<WebElement> check) {
+        WebElement cached = elements.get(locator);
+        if (cached == null) {
+            ElementCacheStats.miss();
+            return null;
+        }
+        try {
+            if (check.test(cached)) {
+                ElementCacheStats.hit();
+                return cached;
+            }
+        } catch (WebDriverException e) {
+            // Stale reference, closed window or replaced document
+            elements.remove(locator);
+            ElementCacheStats.stale();
+            return null;
+        }
+        ElementCacheStats.miss();
+        return null;
+    }
+
+    void put(By locator, WebElement element) {
+        elements.put(locator, element);
+    }
+
+    void invalidate(By locator) {
+        elements.remove(locator);
+        ElementCacheStats.stale();
+    }
+}
@@ -0,0 +1,68 @@
+package com.myntra.pages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Element-cache counters for the scenario running on the current thread,
+ * plus run-wide totals
+ */
+public final class ElementCacheStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(ElementCacheStats.class);
+    private static final ThreadLocal<long[]> scenario = ThreadLocal.withInitial(() -> new long[3]);
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalLookups = new AtomicLong();
+
+    private static final int HITS = 0;
+    private static final int MISSES = 1;
+    private static final int STALE = 2;
+
+    private ElementCacheStats() {
+    }
+
+    static void hit() {
+        scenario.get()[HITS]++;
+        totalHits.incrementAndGet();
+        totalLookups.incrementAndGet();
+    }
+
+    static void miss() {
+        scenario.get()[MISSES]++;
+        totalLookups.incrementAndGet();
+    }
+
+    /**
+     * A cached handle that turned out stale, counted as a lookup the cache did not serve
+     */
+    static void stale() {
+        scenario.get()[STALE]++;
+        totalLookups.incrementAndGet();
+    }
+
+    public static void resetScenario() {
+        scenario.set(new long[3]);
+    }
+
+    /**
+     * Logs hit rate and lookups saved for the current thread's scenario
+     */
+    public static void logScenario(String scenarioName) {
+        long[] counts = scenario.get();
+        long lookups = counts[HITS] + counts[MISSES] + counts[STALE];
+        if (lookups > 0) {
+            logger.info("Element cache for '{}': {} of {} lookups served from cache ({}%), {} stale re-resolution(s)",
+                    scenarioName, counts[HITS], lookups, Math.round(100.0 * counts[HITS] / lookups), counts[STALE]);
+        }
+        scenario.remove();
+    }
+
+    public static void logTotals() {
+        if (totalLookups.get() > 0) {
+            logger.info("Element cache: {} lookups saved out of {} ({}%)", totalHits.get(), totalLookups.get(),
+                    Math.round(100.0 * totalHits.get() / totalLookups.get()));
+        }
+    }
+}
@@ -6,51 +6,61 @@ import org.openqa.selenium.Keys;
 public class HomePage extends BasePage {
 
     // Updated locators
-    private final By searchBox = By.xpath("//input[@class='desktop-searchBar']");
-    private final By myntraLogo = By.xpath("//a[contains(@href,'myntra.com')]");
-    private final By searchIcon = By.xpath("//span[@class='myntraweb-sprite desktop-iconSearch sprites-headerSearch']");
+    private final By searchBox = Locators.compile(By.xpath("//input[@class='desktop-searchBar']"));
+    private final By myntraLogo = Locators.compile(By.xpath("//a[contains(@href,'myntra.com')]"));
+    private final By searchIcon = Locators.compile(By.xpath("//span[@class='myntraweb-sprite desktop-iconSearch sprites-headerSearch']"));
+
+    @Override
+    protected PageReadiness readiness() {
+        return PageReadiness.create()
+                .documentComplete()
+                .elementVisible(searchBox)
+                .domQuietFor(config.getReadinessQuietPeriod());
+    }
+
+    @Override
+    protected PageReadiness interactiveReadiness() {
+        return PageReadiness.create()
+                .documentInteractive()
+                .elementVisible(searchBox);
+    }
 
     public void navigateToHomePage(String url) {
-        driver.get(url);
-        waitForPageLoad();
-        logger.info("✓ Navigated to Myntra homepage: {}", url);
-
-        // Wait a bit for page to fully load
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        timed("navigateToHomePage", () -> {
+            driver.get(url);
+            waitForPageReady();
+            logger.info("✓ Navigated to Myntra homepage: {}", url);
+        });
     }
 
     public void searchProduct(String productName) {
-        // Wait for search box to be visible
-        waitForElementVisible(searchBox);
-        enterText(searchBox, productName);
-        driver.findElement(searchBox).sendKeys(Keys.ENTER);
-        logger.info("✓ Searched for product: {}", productName);
-
-        // Wait for search results to load
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        timed("searchProduct", () -> {
+            // Search box is resolved once and served from the element cache afterwards
+            enterText(searchBox, productName);
+            navigateBy(() -> waitForElementVisible(searchBox).sendKeys(Keys.ENTER));
+            logger.info("✓ Searched for product: {}", productName);
+
+            // Wait for search results to load
+            new SearchResultsPage().waitForPageReady();
+        });
     }
 
     public boolean isHomePageLoaded() {
-        try {
-            // Check if search box is visible (more reliable than logo)
-            waitForElementVisible(searchBox);
-            logger.info("✓ Home page loaded successfully - Search box is visible");
-            return true;
-        } catch (Exception e) {
-            logger.error("✗ Home page not loaded - Search box not found: {}", e.getMessage());
-            return false;
-        }
+        return timed("isHomePageLoaded", () -> {
+            try {
+                // Check if search box is visible (more reliable than logo)
+                waitForElementVisible(searchBox);
+                logger.info("✓ Home page loaded successfully - Search box is visible");
+                return true;
+            } catch (Exception e) {
+                logger.error("✗ Home page not loaded - Search box not found: {}", e.getMessage());
+                return false;
+            }
+        });
     }
 
     public String getSearchBoxPlaceholder() {
-        return waitForElementVisible(searchBox).getAttribute("placeholder");
+        return timed("getSearchBoxPlaceholder",
+                () -> waitForElementVisible(searchBox).getAttribute("placeholder"));
     }
 }
\ No newline at end of file
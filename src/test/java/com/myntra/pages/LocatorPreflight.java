@@ -0,0 +1,370 @@
+package com.myntra.pages;
+
+import com.myntra.factory.DriverFactory;
+import com.myntra.factory.StubDriver;
+import com.myntra.utils.ConfigReader;
+import com.myntra.utils.FrameworkConfig;
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.NodeList;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks every locator the page objects declare against recorded HTML of
+ * their pages, parsed in-process, before any browser is started. A page's
+ * recordings are listed as preflight.snapshots.&lt;PageClass&gt;; locators the
+ * recordings cannot show (preflight.skip, as PageClass.field) are left out.
+ * A locator is reported when it matches nothing (the page changed, so the
+ * scenario would sit out a full wait timeout), when it matches more than
+ * one element (findElement takes the first) and when it takes longer than
+ * preflight.slow.ms to evaluate. Locators are evaluated as the pages use
+ * them, i.e. after XPath-to-CSS compilation.
+ */
+public final class LocatorPreflight {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocatorPreflight.class);
+    private static final String PAGES_PACKAGE = LocatorPreflight.class.getPackageName();
+
+    public enum Mode {
+        OFF, REPORT, FAIL
+    }
+
+    /**
+     * Outcome for one locator in one recording; matches is -1 when the
+     * locator could not be evaluated
+     */
+    public static final class Check {
+
+        private final String page;
+        private final String field;
+        private final By locator;
+        private final Path snapshot;
+        private final int matches;
+        private final long nanos;
+        private final String error;
+
+        private Check(String page, String field, By locator, Path snapshot, int matches, long nanos, String error) {
+            this.page = page;
+            this.field = field;
+            this.locator = locator;
+            this.snapshot = snapshot;
+            this.matches = matches;
+            this.nanos = nanos;
+            this.error = error;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public By getLocator() {
+            return locator;
+        }
+
+        public Path getSnapshot() {
+            return snapshot;
+        }
+
+        public int getMatches() {
+            return matches;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public String getName() {
+            return page + "." + field;
+        }
+
+        public boolean isMissing() {
+            return matches == 0 || error != null;
+        }
+
+        public boolean isAmbiguous() {
+            return matches > 1;
+        }
+    }
+
+    private final long slowNanos;
+    private final Set<String> skipped;
+    private final Map<Path, Snapshot> snapshots = new HashMap<>();
+    private final List<Check> checks = new ArrayList<>();
+    private final List<String> unchecked = new ArrayList<>();
+
+    private LocatorPreflight() {
+        this.slowNanos = FrameworkConfig.get().getPreflightSlow().toNanos();
+        this.skipped = FrameworkConfig.get().getPreflightSkip();
+    }
+
+    public static Mode mode() {
+        return Mode.valueOf(FrameworkConfig.get().getPreflightMode().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Checks all page objects and logs what it found. With preflight.mode=fail
+     * a missing locator throws before anything else of the run happens.
+     */
+    public static List<Check> run() {
+        Mode mode = mode();
+        if (mode == Mode.OFF) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        LocatorPreflight preflight = new LocatorPreflight();
+        for (Class<? extends BasePage> page : pageClasses()) {
+            preflight.check(page);
+        }
+        preflight.report(System.nanoTime() - start);
+
+        List<Check> missing = preflight.checks.stream().filter(Check::isMissing).collect(Collectors.toList());
+        if (mode == Mode.FAIL && !missing.isEmpty()) {
+            throw new IllegalStateException("Locator preflight: " + missing.size()
+                    + " locator(s) match nothing in their recorded page: "
+                    + missing.stream().map(Check::getName).distinct().collect(Collectors.joining(", ")));
+        }
+        return preflight.checks;
+    }
+
+    /**
+     * Runs the preflight on its own, e.g. as a CI stage ahead of the tests;
+     * exits with 1 when a locator matches nothing
+     */
+    public static void main(String[] args) {
+        List<Check> checks = run();
+        if (checks.stream().anyMatch(Check::isMissing)) {
+            System.exit(1);
+        }
+    }
+
+    private void check(Class<? extends BasePage> page) {
+        String pageName = page.getSimpleName();
+        String configured = ConfigReader.getProperty("preflight.snapshots." + pageName, "").trim();
+        if (configured.isEmpty()) {
+            unchecked.add(pageName);
+            return;
+        }
+        List<Snapshot> recordings = Arrays.stream(configured.split(","))
+                .map(String::trim)
+                .filter(file -> !file.isEmpty())
+                .map(file -> snapshots.computeIfAbsent(Paths.get(file), Snapshot::parse))
+                .collect(Collectors.toList());
+
+        locators(page).forEach((field, locator) -> {
+            if (skipped.contains(pageName + "." + field)) {
+                return;
+            }
+            // The best recording counts: a locator need only be present in one of them
+            Check best = null;
+            for (Snapshot recording : recordings) {
+                Check check = recording.evaluate(pageName, field, locator);
+                if (best == null || best.isMissing() || (!check.isMissing() && check.getMatches() < best.getMatches())) {
+                    best = check;
+                }
+            }
+            checks.add(best);
+        });
+    }
+
+    /**
+     * The By fields of a page object, read from an instance built against a
+     * stub driver; a locator held by several fields is checked once
+     */
+    private static Map<String, By> locators(Class<? extends BasePage> page) {
+        WebDriver previous = DriverFactory.getDriver();
+        BasePage instance;
+        DriverFactory.bindDriver(StubDriver.create());
+        try {
+            instance = page.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create " + page.getSimpleName() + " for the locator preflight", e);
+        } finally {
+            DriverFactory.bindDriver(previous);
+        }
+
+        Map<By, String> fields = new LinkedHashMap<>();
+        for (Class<?> type = page; type != BasePage.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!By.class.isAssignableFrom(field.getType())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    By locator = (By) field.get(Modifier.isStatic(field.getModifiers()) ? null : instance);
+                    if (locator != null) {
+                        fields.merge(locator, field.getName(), (first, alias) -> first + "/" + alias);
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Could not read " + page.getSimpleName() + "." + field.getName(), e);
+                }
+            }
+        }
+        Map<String, By> byName = new LinkedHashMap<>();
+        fields.forEach((locator, name) -> byName.put(name, locator));
+        return byName;
+    }
+
+    // Every concrete page object compiled into this package
+    @SuppressWarnings("unchecked")
+    private static List<Class<? extends BasePage>> pageClasses() {
+        URL location = LocatorPreflight.class.getResource(LocatorPreflight.class.getSimpleName() + ".class");
+        if (location == null || !"file".equals(location.getProtocol())) {
+            throw new IllegalStateException("Locator preflight needs the page objects as class files, found " + location);
+        }
+        try (Stream<Path> files = Files.list(Paths.get(location.toURI()).getParent())) {
+            List<Class<? extends BasePage>> pages = new ArrayList<>();
+            for (Path file : files.sorted().collect(Collectors.toList())) {
+                String fileName = file.getFileName().toString();
+                if (!fileName.endsWith(".class") || fileName.contains("$")) {
+                    continue;
+                }
+                Class<?> type = Class.forName(PAGES_PACKAGE + "." + fileName.substring(0, fileName.length() - 6),
+                        false, LocatorPreflight.class.getClassLoader());
+                if (BasePage.class.isAssignableFrom(type) && type != BasePage.class
+                        && !Modifier.isAbstract(type.getModifiers())) {
+                    pages.add((Class<? extends BasePage>) type);
+                }
+            }
+            return pages;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list the page objects", e);
+        } catch (URISyntaxException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not list the page objects", e);
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        for (Check check : checks) {
+            if (check.getError() != null) {
+                logger.error("Locator {} ({}) could not be evaluated: {}", check.getName(), check.getLocator(), check.getError());
+            } else if (check.isMissing()) {
+                logger.error("Locator {} ({}) matches nothing in {}", check.getName(), check.getLocator(), check.getSnapshot());
+            } else if (check.isAmbiguous()) {
+                logger.warn("Locator {} ({}) matches {} elements in {}", check.getName(), check.getLocator(),
+                        check.getMatches(), check.getSnapshot());
+            }
+            if (check.getNanos() > slowNanos) {
+                logger.warn("Locator {} ({}) took {} ms to evaluate in {}", check.getName(), check.getLocator(),
+                        TimeUnit.NANOSECONDS.toMillis(check.getNanos()), check.getSnapshot());
+            }
+        }
+        if (!unchecked.isEmpty()) {
+            logger.info("No recorded page for {}, their locators are not checked", unchecked);
+        }
+        logger.info("Locator preflight: {} locator(s) against {} recording(s) in {} ms, {} missing, "
+                        + "{} matching several elements, {} slow",
+                checks.size(), snapshots.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                checks.stream().filter(Check::isMissing).count(),
+                checks.stream().filter(Check::isAmbiguous).count(),
+                checks.stream().filter(check -> check.getNanos() > slowNanos).count());
+        write();
+    }
+
+    private void write() {
+        Path csv = FrameworkConfig.get().getPreflightReportFile();
+        try {
+            Files.createDirectories(csv.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv))) {
+                out.println("page,field,locator,snapshot,matches,eval_us");
+                for (Check check : checks) {
+                    out.println(check.getPage() + "," + check.getField() + ",\"" + check.getLocator().toString().replace("\"", "\"\"")
+                            + "\"," + check.getSnapshot() + "," + check.getMatches() + "," + check.getNanos() / 1000);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write locator preflight report to {}: {}", csv, e.getMessage());
+        }
+    }
+
+    /**
+     * One recorded page, parsed once for CSS selectors and converted once to
+     * a W3C DOM for the XPath locators that were not compiled to CSS
+     */
+    private static final class Snapshot {
+
+        private final Path file;
+        private final Document html;
+        private final XPath xpath = XPathFactory.newInstance().newXPath();
+        private org.w3c.dom.Document dom;
+
+        private Snapshot(Path file, Document html) {
+            this.file = file;
+            this.html = html;
+        }
+
+        static Snapshot parse(Path file) {
+            try {
+                return new Snapshot(file, Jsoup.parse(file.toFile(), StandardCharsets.UTF_8.name()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read recorded page " + file, e);
+            }
+        }
+
+        Check evaluate(String page, String field, By locator) {
+            List<String> script;
+            try {
+                script = Locators.toScriptLocator(locator);
+            } catch (IllegalArgumentException e) {
+                return new Check(page, field, locator, file, -1, 0, e.getMessage());
+            }
+            try {
+                int matches = count(script.get(0), script.get(1));
+                // Timed on a second run, so class loading and parser warm-up do not count as slowness
+                long start = System.nanoTime();
+                count(script.get(0), script.get(1));
+                return new Check(page, field, locator, file, matches, System.nanoTime() - start, null);
+            } catch (XPathExpressionException | RuntimeException e) {
+                return new Check(page, field, locator, file, -1, 0, String.valueOf(e.getMessage()));
+            }
+        }
+
+        private int count(String kind, String selector) throws XPathExpressionException {
+            if (!kind.equals("xpath")) {
+                return html.select(selector).size();
+            }
+            if (dom == null) {
+                dom = new W3CDom().namespaceAware(false).fromJsoup(html);
+            }
+            return ((NodeList) xpath.compile(selector).evaluate(dom, XPathConstants.NODESET)).getLength();
+        }
+    }
+}
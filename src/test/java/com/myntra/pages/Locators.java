@@ -0,0 +1,90 @@
+package com.myntra.pages;
+
+import org.openqa.selenium.By;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Locator helpers: XPath-to-CSS compilation and conversion for page scripts
+ */
+final class Locators {
+
+    // //tag[@attr='value'] or //tag[contains(@attr,'value')], nothing else
+    private static final Pattern SIMPLE_XPATH = Pattern.compile(
+            "^//([a-zA-Z][a-zA-Z0-9-]*|\\*)\\[(?:@([a-zA-Z-]+)\\s*=\\s*'([^']*)'"
+                    + "|contains\\(\\s*@([a-zA-Z-]+)\\s*,\\s*'([^']*)'\\s*\\))\\]$");
+
+    // Attributes whose CSS matching is case-sensitive in HTML, like XPath
+    private static final Pattern CASE_SENSITIVE_ATTRIBUTE =
+            Pattern.compile("class|id|href|src|name|role|title|placeholder|data-[a-z-]+");
+
+    private static final Map<By, By> compiled = new ConcurrentHashMap<>();
+
+    private Locators() {
+    }
+
+    /**
+     * Rewrites an XPath locator as an equivalent CSS selector when the meaning
+     * is exactly the same: a single tag with one attribute equality or
+     * attribute-contains predicate. Anything else (text(), positional
+     * predicates, axes) is returned unchanged.
+     */
+    static By compile(By locator) {
+        return compiled.computeIfAbsent(locator, Locators::toCss);
+    }
+
+    private static By toCss(By locator) {
+        String description = locator.toString();
+        if (!description.startsWith("By.xpath: ")) {
+            return locator;
+        }
+        Matcher matcher = SIMPLE_XPATH.matcher(description.substring("By.xpath: ".length()).trim());
+        if (!matcher.matches()) {
+            return locator;
+        }
+        boolean equality = matcher.group(2) != null;
+        String attribute = equality ? matcher.group(2) : matcher.group(4);
+        String value = equality ? matcher.group(3) : matcher.group(5);
+        // contains(@x,'') matches everything while [x*=''] matches nothing
+        if (!CASE_SENSITIVE_ATTRIBUTE.matcher(attribute).matches() || value.isEmpty() || value.contains("\\")) {
+            return locator;
+        }
+        String operator = equality ? "=" : "*=";
+        return By.cssSelector(matcher.group(1) + "[" + attribute + operator + "'" + value + "']");
+    }
+
+    /**
+     * Converts a locator into a [kind, selector] pair understood by the
+     * page scripts, where kind is either "xpath" or "css"
+     */
+    static List<String> toScriptLocator(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) {
+            throw new IllegalArgumentException("Unsupported locator: " + description);
+        }
+        String strategy = description.substring(0, separator);
+        String value = description.substring(separator + 2);
+
+        switch (strategy) {
+            case "By.xpath":
+                return List.of("xpath", value);
+            case "By.cssSelector":
+                return List.of("css", value);
+            case "By.id":
+                return List.of("css", "[id=\"" + value.replace("\"", "\\\"") + "\"]");
+            case "By.name":
+                return List.of("css", "[name=\"" + value.replace("\"", "\\\"") + "\"]");
+            case "By.className":
+                return List.of("css", "." + value);
+            case "By.tagName":
+                return List.of("css", value);
+            default:
+                throw new IllegalArgumentException("Unsupported locator strategy for page scripts: " + description);
+        }
+    }
+}
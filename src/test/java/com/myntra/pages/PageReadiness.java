@@ -0,0 +1,136 @@
+package com.myntra.pages;
+
+import org.openqa.selenium.By;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Declares what "ready" means for a page.
+ * Signals are evaluated together by BasePage.waitUntilReady, which returns
+ * as soon as every signal holds.
+ */
+public final class PageReadiness {
+
+    private boolean documentComplete;
+    private boolean documentInteractive;
+    private Duration domQuiet;
+    private Duration networkIdle;
+    private final Set<By> visible = new LinkedHashSet<>();
+    private final Set<By> stable = new LinkedHashSet<>();
+
+    private PageReadiness() {
+    }
+
+    public static PageReadiness create() {
+        return new PageReadiness();
+    }
+
+    /**
+     * document.readyState is "complete"
+     */
+    public PageReadiness documentComplete() {
+        this.documentComplete = true;
+        return this;
+    }
+
+    /**
+     * document.readyState is "interactive" or "complete": the DOM is parsed,
+     * late subresources may still be loading
+     */
+    public PageReadiness documentInteractive() {
+        this.documentInteractive = true;
+        return this;
+    }
+
+    /**
+     * No DOM mutations for the given period
+     */
+    public PageReadiness domQuietFor(Duration period) {
+        this.domQuiet = period;
+        return this;
+    }
+
+    /**
+     * No fetch/XHR in flight for the given period
+     */
+    public PageReadiness networkIdleFor(Duration period) {
+        this.networkIdle = period;
+        return this;
+    }
+
+    /**
+     * First element matching the locator is visible
+     */
+    public PageReadiness elementVisible(By locator) {
+        visible.add(locator);
+        return this;
+    }
+
+    /**
+     * First element matching the locator is visible and has not moved or
+     * resized since the previous poll
+     */
+    public PageReadiness elementStable(By locator) {
+        stable.add(locator);
+        return this;
+    }
+
+    List<By> locators() {
+        Set<By> all = new LinkedHashSet<>(visible);
+        all.addAll(stable);
+        return new ArrayList<>(all);
+    }
+
+    /**
+     * Returns a description of the first unmet signal, or null when the page is ready
+     *
+     * @param probe         result of the readiness probe script
+     * @param locators      locators passed to the probe, in order
+     * @param previousRects element rectangles seen on the previous poll, updated in place
+     */
+    @SuppressWarnings("unchecked")
+    String pendingSignal(Map<String, Object> probe, List<By> locators, Map<By, String> previousRects) {
+        if (documentComplete && !"complete".equals(probe.get("readyState"))) {
+            return "document.readyState=" + probe.get("readyState");
+        }
+        if (documentInteractive && "loading".equals(probe.get("readyState"))) {
+            return "document.readyState=loading";
+        }
+        if (domQuiet != null && asLong(probe.get("domQuietMs")) < domQuiet.toMillis()) {
+            return "DOM quiet for " + domQuiet.toMillis() + " ms";
+        }
+        if (networkIdle != null && asLong(probe.get("networkIdleMs")) < networkIdle.toMillis()) {
+            return "network idle for " + networkIdle.toMillis() + " ms (in flight: "
+                    + probe.get("pendingRequests") + ")";
+        }
+
+        List<Map<String, Object>> elements = (List<Map<String, Object>>) probe.get("elements");
+        String pending = null;
+        for (int i = 0; i < locators.size(); i++) {
+            By locator = locators.get(i);
+            Map<String, Object> element = elements.get(i);
+            boolean isVisible = Boolean.TRUE.equals(element.get("visible"));
+            String rect = String.valueOf(element.get("rect"));
+            String previous = previousRects.put(locator, rect);
+
+            if (pending != null) {
+                continue;
+            }
+            if ((visible.contains(locator) || stable.contains(locator)) && !isVisible) {
+                pending = "visible " + locator;
+            } else if (stable.contains(locator) && !rect.equals(previous)) {
+                pending = "stable " + locator;
+            }
+        }
+        return pending;
+    }
+
+    private static long asLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,96 @@
+package com.myntra.pages;
+
+import java.util.Map;
+
+/**
+ * One product tile of a search results listing. Prices are whole rupees;
+ * values the tile does not show are -1 (prices, discount) or 0 (rating).
+ */
+public final class ProductCard {
+
+    private final String brand;
+    private final String name;
+    private final int price;
+    private final int originalPrice;
+    private final int discountPercent;
+    private final String href;
+    private final double rating;
+    private final int ratingCount;
+
+    private ProductCard(String brand, String name, int price, int originalPrice, int discountPercent, String href,
+                        double rating, int ratingCount) {
+        this.brand = brand;
+        this.name = name;
+        this.price = price;
+        this.originalPrice = originalPrice;
+        this.discountPercent = discountPercent;
+        this.href = href;
+        this.rating = rating;
+        this.ratingCount = ratingCount;
+    }
+
+    /**
+     * From one entry of the product-listing script result
+     */
+    static ProductCard fromScript(Map<String, Object> tile) {
+        return new ProductCard(
+                String.valueOf(tile.get("brand")),
+                String.valueOf(tile.get("name")),
+                ((Number) tile.get("price")).intValue(),
+                ((Number) tile.get("originalPrice")).intValue(),
+                ((Number) tile.get("discount")).intValue(),
+                String.valueOf(tile.get("href")),
+                ((Number) tile.get("rating")).doubleValue(),
+                ((Number) tile.get("ratingCount")).intValue());
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Price the product sells at, after any discount
+     */
+    public int getPrice() {
+        return price;
+    }
+
+    /**
+     * Struck-through price before the discount, -1 when not discounted
+     */
+    public int getOriginalPrice() {
+        return originalPrice;
+    }
+
+    /**
+     * Percentage off the original price, -1 when the tile shows none or a flat discount
+     */
+    public int getDiscountPercent() {
+        return discountPercent;
+    }
+
+    /**
+     * Absolute URL of the product page
+     */
+    public String getHref() {
+        return href;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public int getRatingCount() {
+        return ratingCount;
+    }
+
+    @Override
+    public String toString() {
+        return brand + " " + name + " (Rs. " + price
+                + (originalPrice > 0 ? ", was Rs. " + originalPrice : "") + ") " + href;
+    }
+}
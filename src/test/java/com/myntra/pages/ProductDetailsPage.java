@@ -9,34 +9,49 @@ import java.util.List;
 public class ProductDetailsPage extends BasePage {
 
     // Using your exact working locators
-    private final By sizeButtons = By.xpath("//div[@class='size-buttons-buttonContainer']");
+    private final By sizeButtons = Locators.compile(By.xpath("//div[@class='size-buttons-buttonContainer']"));
     private final By addToBagButton = By.xpath("//div[text()='ADD TO BAG']");
 
+    @Override
+    protected PageReadiness readiness() {
+        return PageReadiness.create()
+                .elementVisible(sizeButtons)
+                .elementStable(addToBagButton);
+    }
+
+    @Override
+    protected PageReadiness interactiveReadiness() {
+        // Already minimal: the controls the journey touches
+        return readiness();
+    }
+
     /**
      * Selects product size (second size button)
      * Matches your working code: sizeButtons.get(1).click()
      */
     public void selectSize() {
-        try {
-            logger.info("Waiting for size buttons...");
-
-            // Use explicit wait like your code
-            List<WebElement> sizes = wait.until(
-                    ExpectedConditions.visibilityOfAllElementsLocatedBy(sizeButtons)
-            );
-
-            if (!sizes.isEmpty()) {
-                // Select second size (index 1) like your code
-                sizes.get(1).click();
-                logger.info("✓ Selected product size at index: 1");
-            } else {
-                logger.warn("No size buttons found!");
-            }
+        timed("selectSize", () -> {
+            try {
+                logger.info("Waiting for size buttons...");
+
+                // Use explicit wait like your code
+                List<WebElement> sizes = wait.until(
+                        ExpectedConditions.visibilityOfAllElementsLocatedBy(sizeButtons)
+                );
+
+                if (!sizes.isEmpty()) {
+                    // Select second size (index 1) like your code
+                    sizes.get(1).click();
+                    logger.info("✓ Selected product size at index: 1");
+                } else {
+                    logger.warn("No size buttons found!");
+                }
 
-        } catch (Exception e) {
-            logger.error("Error selecting size: {}", e.getMessage());
-            throw e;
-        }
+            } catch (Exception e) {
+                logger.error("Error selecting size: {}", e.getMessage());
+                throw e;
+            }
+        });
     }
 
     /**
@@ -44,40 +59,41 @@ public class ProductDetailsPage extends BasePage {
      * Matches your working code exactly
      */
     public void addProductToBag() {
-        try {
-            // Wait for Add to Bag button like your code
-            waitForElementClickable(addToBagButton);
-
-            String productName = driver.getTitle();
-            logger.info("Selected Product is: {}", productName);
-
-            // Click Add to Bag
-            clickElement(addToBagButton);
-            logger.info("✓ Product is added to cart");
-
-            // Wait for action to complete
-            Thread.sleep(3000);
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Interrupted while adding to bag");
-        } catch (Exception e) {
-            logger.error("Error adding product to bag: {}", e.getMessage());
-            throw e;
-        }
+        timed("addProductToBag", () -> {
+            try {
+                // Wait for Add to Bag button like your code
+                waitForElementClickable(addToBagButton);
+
+                String productName = driver.getTitle();
+                logger.info("Selected Product is: {}", productName);
+
+                // Click Add to Bag
+                clickElement(addToBagButton);
+                logger.info("✓ Product is added to cart");
+
+                // Wait for the add-to-bag request and the resulting re-render to settle
+                waitUntilReady("ProductDetailsPage.addProductToBag", PageReadiness.create()
+                        .networkIdleFor(config.getReadinessQuietPeriod())
+                        .domQuietFor(config.getReadinessQuietPeriod()));
+
+            } catch (Exception e) {
+                logger.error("Error adding product to bag: {}", e.getMessage());
+                throw e;
+            }
+        });
     }
 
     /**
      * Gets product title
      */
     public String getProductTitle() {
-        return driver.getTitle();
+        return timed("getProductTitle", () -> driver.getTitle());
     }
 
     /**
      * Verifies if Add to Bag button is displayed
      */
     public boolean isAddToBagButtonDisplayed() {
-        return isElementDisplayed(addToBagButton);
+        return timed("isAddToBagButtonDisplayed", () -> isDisplayedWithin(addToBagButton, config.getQuickCheck()));
     }
-}
\ No newline at end of file
+}
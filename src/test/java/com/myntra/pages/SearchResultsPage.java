@@ -1,67 +1,214 @@
 package com.myntra.pages;
 
+import com.myntra.factory.NetworkProfile;
+import com.myntra.factory.SessionFootprint;
+import com.myntra.metrics.Metrics;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SearchResultsPage extends BasePage {
 
-    private final By firstProduct = By.xpath("//li[@class='product-base'][1]");
-    private final By productList = By.xpath("//li[@class='product-base']");
-    private final By resultsCount = By.xpath("//span[@class='title-count']");
+    private static final String PRODUCT_LISTING = pageScript("scripts/product-listing.js");
+    private static final Duration LISTING_POLL = Duration.ofMillis(250);
+
+    private final By productList = Locators.compile(By.xpath("//li[@class='product-base']"));
+    // Same element as //li[@class='product-base'][1]: single-element lookups return the first match
+    private final By firstProduct = productList;
+    private final By resultsCount = Locators.compile(By.xpath("//span[@class='title-count']"));
+
+    /**
+     * Listing assertions never need analytics, so trackers are blocked from here on
+     */
+    public SearchResultsPage() {
+        super(NetworkProfile.named("no-tracking"));
+    }
+
+    @Override
+    protected PageReadiness readiness() {
+        return PageReadiness.create()
+                .elementVisible(productList)
+                .networkIdleFor(config.getReadinessQuietPeriod())
+                .domQuietFor(config.getReadinessQuietPeriod());
+    }
+
+    @Override
+    protected PageReadiness interactiveReadiness() {
+        return PageReadiness.create()
+                .elementVisible(productList);
+    }
 
     /**
      * Clicks on the first product from search results
-     * Product opens in NEW WINDOW - switches to it
+     * The site opens products in a NEW WINDOW; window.mode decides whether
+     * the journey follows it there or loads the product in this tab
      */
     public void clickFirstProduct() {
-        logger.info("Clicking on first product...");
-
-        // Store parent window handle BEFORE clicking
-        String parentWindow = driver.getWindowHandle();
-        logger.info("Parent window: {}", parentWindow);
-
-        // Click on first product
-        waitForElementClickable(firstProduct).click();
-        logger.info("✓ Clicked on first product");
-
-        // Wait for new window to open
-        wait.until(driver -> driver.getWindowHandles().size() > 1);
-        logger.info("New window opened. Total windows: {}", driver.getWindowHandles().size());
-
-        // Switch to the new window
-        for (String windowHandle : driver.getWindowHandles()) {
-            if (!windowHandle.equals(parentWindow)) {
-                driver.switchTo().window(windowHandle);
-                logger.info("✓ Switched to product details window");
-                break;
-            }
-        }
+        timed("clickFirstProduct", () -> {
+            logger.info("Clicking on first product...");
+            long start = System.nanoTime();
+            navigateBy(() -> followToNewWindow(firstProduct));
+
+            // Wait for the product page to become interactive
+            new ProductDetailsPage().waitForPageReady();
+            Metrics.record(Metrics.NAVIGATION, "open product (" + WindowManager.mode() + ")",
+                    System.nanoTime() - start);
+            // Memory with the product page open, for comparing window modes
+            SessionFootprint.getInstance().sample(driver);
+            logger.info("Product page loaded: {}", driver.getTitle());
+        });
+    }
+
+    /**
+     * Every product tile loaded so far, read in a single script round trip
+     */
+    public List<ProductCard> getProducts() {
+        return timed("getProducts", () -> readListing(null, false).products);
+    }
 
-        // Wait for page to load
-        waitForPageLoad();
-        logger.info("Product page loaded: {}", driver.getTitle());
+    /**
+     * The whole listing as a lazy stream: the tiles already loaded first,
+     * then more as the consumer asks for them, by scrolling for further
+     * tiles and following the next-page link once scrolling loads nothing.
+     * Each fetch is one script round trip for all new tiles. Consume it on
+     * the scenario's thread, e.g. streamProducts().limit(100).
+     */
+    public Stream<ProductCard> streamProducts() {
+        return StreamSupport.stream(new ListingSpliterator(), false);
     }
 
     /**
      * Gets the count of search results
      */
     public int getProductCount() {
-        return driver.findElements(productList).size();
+        return timed("getProductCount", () -> driver.findElements(productList).size());
     }
 
     /**
      * Verifies if search results are displayed
      */
     public boolean areSearchResultsDisplayed() {
-        return isElementDisplayed(productList);
+        return timed("areSearchResultsDisplayed", () -> isDisplayedWithin(productList, config.getQuickCheck()));
     }
 
     /**
      * Gets results count text
      */
     public String getResultsCountText() {
-        if (isElementDisplayed(resultsCount)) {
-            return getElementText(resultsCount);
+        return timed("getResultsCountText", () -> {
+            DomSnapshot.ElementFacts count = snapshot(resultsCount);
+            return count.isVisible() ? count.getText() : "Results count not displayed";
+        });
+    }
+
+    private static final class Listing {
+        private final String next;
+        private final List<ProductCard> products;
+
+        private Listing(String next, List<ProductCard> products) {
+            this.next = next;
+            this.products = products;
+        }
+    }
+
+    /**
+     * Tiles after the product with the given href, or every tile when it is
+     * null or no longer on the page; scrolls the last tile into view first
+     * when asked
+     */
+    @SuppressWarnings("unchecked")
+    private Listing readListing(String after, boolean scroll) {
+        Map<String, Object> raw = Metrics.time(Metrics.ACTION, "SearchResultsPage.readListing",
+                () -> (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(PRODUCT_LISTING,
+                        Locators.toScriptLocator(productList), after, scroll));
+        List<ProductCard> products = ((List<Map<String, Object>>) raw.get("products")).stream()
+                .map(ProductCard::fromScript)
+                .collect(Collectors.toList());
+        return new Listing((String) raw.get("next"), products);
+    }
+
+    private final class ListingSpliterator extends Spliterators.AbstractSpliterator<ProductCard> {
+
+        private final Deque<ProductCard> buffer = new ArrayDeque<>();
+        // Virtualised listings and page boundaries can repeat a product
+        private final Set<String> seen = new HashSet<>();
+        // Href of the last product read: the listing is paged by product, not by tile position
+        private String cursor;
+        private boolean started;
+        private String next;
+        private boolean exhausted;
+
+        private ListingSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ProductCard> action) {
+            while (buffer.isEmpty()) {
+                if (exhausted) {
+                    return false;
+                }
+                fetch();
+            }
+            action.accept(buffer.poll());
+            return true;
+        }
+
+        private void fetch() {
+            Listing listing = started ? loadMore() : readListing(null, false);
+            started = true;
+            if (listing == null && next != null) {
+                logger.info("Listing exhausted after {} product(s), opening next page {}", seen.size(), next);
+                driver.get(next);
+                new SearchResultsPage().waitForPageReady();
+                cursor = null;
+                listing = readListing(null, false);
+            }
+            if (listing == null || (listing.products.isEmpty() && listing.next == null)) {
+                exhausted = true;
+                return;
+            }
+            next = listing.next;
+            // A tile without a link is a placeholder still loading, with no key to page or dedupe by
+            listing.products.stream()
+                    .filter(product -> !product.getHref().isEmpty())
+                    .forEach(product -> {
+                        cursor = product.getHref();
+                        if (seen.add(product.getHref())) {
+                            buffer.add(product);
+                        }
+                    });
+        }
+
+        // Scrolls until products not read yet appear after the cursor, or null when none do in time
+        private Listing loadMore() {
+            try {
+                return new WebDriverWait(driver, config.getListingMoreTimeout(), LISTING_POLL)
+                        .until(d -> {
+                            Listing listing = readListing(cursor, true);
+                            boolean unread = listing.products.stream()
+                                    .anyMatch(product -> !product.getHref().isEmpty()
+                                            && !seen.contains(product.getHref()));
+                            return unread ? listing : null;
+                        });
+            } catch (TimeoutException e) {
+                return null;
+            }
         }
-        return "Results count not displayed";
     }
-}
\ No newline at end of file
+}
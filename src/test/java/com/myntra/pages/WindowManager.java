@@ -0,0 +1,127 @@
+package com.myntra.pages;
+
+import com.myntra.factory.NetworkShaper;
+import com.myntra.utils.FrameworkConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Windows and tabs opened by the scenario running on the current thread.
+ * A link the site opens in a new window is followed into that window and
+ * the window left behind is closed (window.close.opener), so a journey
+ * keeps one renderer alive instead of one per hop. With
+ * window.mode=same-tab the link's href is loaded in the current tab and no
+ * window is spawned at all.
+ */
+public final class WindowManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(WindowManager.class);
+
+    // The anchor the click would follow: the element itself, an ancestor or its first descendant link
+    private static final String LINK_HREF_SCRIPT =
+            "var a = arguments[0].closest('a[href]') || arguments[0].querySelector('a[href]');"
+                    + "return a ? a.href : null;";
+
+    public enum Mode {
+        NEW_WINDOW, SAME_TAB;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    private static final ThreadLocal<Scenario> scenario = ThreadLocal.withInitial(Scenario::new);
+    private static final AtomicLong totalOpened = new AtomicLong();
+    private static final AtomicLong totalClosed = new AtomicLong();
+    private static final AtomicLong totalSameTab = new AtomicLong();
+
+    private static final class Scenario {
+        private int opened;
+        private int closed;
+        private int sameTab;
+        private int peakWindows = 1;
+    }
+
+    private WindowManager() {
+    }
+
+    public static Mode mode() {
+        return "same-tab".equals(FrameworkConfig.get().getWindowMode())
+                ? Mode.SAME_TAB : Mode.NEW_WINDOW;
+    }
+
+    private static boolean closeOpener() {
+        return FrameworkConfig.get().isCloseOpener();
+    }
+
+    /**
+     * Follows a link that opens in a new window and leaves the driver in the
+     * window that shows its target
+     */
+    static void follow(WebDriver driver, WebDriverWait wait, WebElement link) {
+        Scenario current = scenario.get();
+        if (mode() == Mode.SAME_TAB) {
+            String href = (String) ((JavascriptExecutor) driver).executeScript(LINK_HREF_SCRIPT, link);
+            if (href != null && !href.isBlank()) {
+                driver.get(href);
+                current.sameTab++;
+                totalSameTab.incrementAndGet();
+                logger.info("Opened {} in the same tab", href);
+                return;
+            }
+            logger.warn("Link has no href, following it into a new window instead");
+        }
+
+        Set<String> before = driver.getWindowHandles();
+        link.click();
+        String window = wait.until(d -> {
+            Set<String> handles = d.getWindowHandles();
+            handles.removeAll(before);
+            return handles.isEmpty() ? null : handles.iterator().next();
+        });
+        current.opened++;
+        totalOpened.incrementAndGet();
+        current.peakWindows = Math.max(current.peakWindows, before.size() + 1);
+
+        boolean closeOpener = closeOpener();
+        if (closeOpener) {
+            // The driver is still focused on the opener, so it closes without a switch
+            driver.close();
+            current.closed++;
+            totalClosed.incrementAndGet();
+        }
+        driver.switchTo().window(window);
+        NetworkShaper.windowChanged(driver);
+        logger.info("Switched to new window {}{}", window, closeOpener ? ", closed the one left behind" : "");
+    }
+
+    /**
+     * Logs the windows the current thread's scenario opened and forgets them;
+     * whatever is still open goes with the browser reset or quit that follows
+     */
+    public static void endScenario(String scenarioName) {
+        Scenario current = scenario.get();
+        scenario.remove();
+        if (current.opened == 0 && current.sameTab == 0) {
+            return;
+        }
+        logger.info("Windows for '{}' ({}): {} opened, {} closed behind, {} same-tab navigation(s), peak {} open",
+                scenarioName, mode(), current.opened, current.closed, current.sameTab, current.peakWindows);
+    }
+
+    public static void logTotals() {
+        if (totalOpened.get() + totalSameTab.get() > 0) {
+            logger.info("Windows ({}): {} opened, {} closed behind, {} same-tab navigation(s)", mode(),
+                    totalOpened.get(), totalClosed.get(), totalSameTab.get());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.myntra.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves a directory of static fixture files on a local port and counts the
+ * requests for each path, so tests can check what a browser actually fetched
+ */
+public final class FixtureServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixtureServer.class);
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css",
+            "js", "application/javascript",
+            "png", "image/png",
+            "woff2", "font/woff2");
+
+    private final Path root;
+    private final HttpServer server;
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    private FixtureServer(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+    }
+
+    public static FixtureServer start(Path root) {
+        try {
+            FixtureServer fixtureServer = new FixtureServer(root);
+            fixtureServer.server.start();
+            logger.info("Fixture server for {} started at {}", root, fixtureServer.getBaseUrl());
+            return fixtureServer;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start fixture server", e);
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Number of requests received for the path, e.g. "/img/product-1.png"
+     */
+    public int requestCount(String path) {
+        AtomicInteger count = requests.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Number of requests received for any path under the prefix
+     */
+    public int requestCountUnder(String prefix) {
+        return requests.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToInt(entry -> entry.getValue().get())
+                .sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        logger.info("Fixture server stopped, served {}", requests);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            requests.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+
+            Path file = root.resolve((path.equals("/") ? "index.html" : path.substring(1))).normalize();
+            if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String name = file.getFileName().toString();
+            String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            byte[] body = Files.readAllBytes(file);
+            exchange.getResponseHeaders().set("Content-Type",
+                    CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
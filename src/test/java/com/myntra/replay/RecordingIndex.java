@@ -0,0 +1,88 @@
+package com.myntra.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Maps request paths to recorded response files.
+ * Entries look like {@code /checkout/cart=cart-page-source.html|text/html};
+ * file paths are relative to the project root, like the config file path.
+ */
+final class RecordingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordingIndex.class);
+
+    private final Path indexFile;
+    private final Properties entries = new Properties();
+
+    RecordingIndex(Path indexFile) {
+        this.indexFile = indexFile;
+        if (Files.exists(indexFile)) {
+            try (Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+                entries.load(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read recording index " + indexFile, e);
+            }
+        }
+        logger.info("Loaded {} recorded response(s) from {}", entries.size(), indexFile);
+    }
+
+    /**
+     * Looks up the exact path and query first, then the path alone
+     */
+    Recording find(String path, String query) {
+        String value = query == null ? null : entries.getProperty(path + "?" + query);
+        if (value == null) {
+            value = entries.getProperty(path);
+        }
+        if (value == null) {
+            return null;
+        }
+        int separator = value.lastIndexOf('|');
+        return separator < 0
+                ? new Recording(Path.of(value), "application/octet-stream")
+                : new Recording(Path.of(value.substring(0, separator)), value.substring(separator + 1));
+    }
+
+    synchronized void put(String key, Path file, String contentType) {
+        entries.setProperty(key, file.toString().replace('\\', '/') + "|" + contentType);
+    }
+
+    synchronized void save() {
+        try {
+            Files.createDirectories(indexFile.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+                entries.store(writer, "Recorded storefront responses: path=file|content-type");
+            }
+        } catch (IOException e) {
+            logger.error("Could not save recording index {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    static final class Recording {
+
+        private final Path file;
+        private final String contentType;
+
+        private Recording(Path file, String contentType) {
+            this.file = file;
+            this.contentType = contentType;
+        }
+
+        Path getFile() {
+            return file;
+        }
+
+        String getContentType() {
+            return contentType;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.myntra.replay;
+
+import com.myntra.utils.FrameworkConfig;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP stand-in for the storefront.
+ * In replay mode it serves recorded pages and assets from disk; in record mode
+ * it proxies to the live site and saves every successful GET response.
+ * Absolute links to the site and its asset hosts are rewritten to point back
+ * at the server so a whole journey stays local.
+ */
+public final class ReplayServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayServer.class);
+    private static final String ASSET_PREFIX = "/__asset/";
+    private static final List<String> FORWARDED_HEADERS =
+            List.of("User-Agent", "Accept", "Accept-Language", "Cookie", "Content-Type", "Referer");
+
+    private static ReplayServer instance;
+
+    public enum Mode {
+        OFF, REPLAY, RECORD
+    }
+
+    private final Mode mode;
+    private final URI upstream;
+    private final Set<String> assetHosts;
+    private final Path filesDir;
+    private final RecordingIndex index;
+    private final HttpClient client;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ReplayServer(Mode mode) throws IOException {
+        this.mode = mode;
+        FrameworkConfig config = FrameworkConfig.get();
+        this.upstream = URI.create(config.getReplayUpstream());
+        this.assetHosts = config.getReplayAssetHosts();
+        Path recordingDir = config.getReplayDir();
+        this.filesDir = recordingDir.resolve("files");
+        this.index = new RecordingIndex(recordingDir.resolve("index.properties"));
+        this.client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(config.getReplayConnectTimeout())
+                .build();
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", config.getReplayPort()), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "replay-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public static Mode configuredMode() {
+        return Mode.valueOf(FrameworkConfig.get().getReplayMode().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Starts the shared server once per JVM when replay.mode is not "off".
+     * Returns null when replay is disabled.
+     */
+    public static synchronized ReplayServer startIfEnabled() {
+        Mode mode = configuredMode();
+        if (mode == Mode.OFF) {
+            return null;
+        }
+        if (instance == null) {
+            try {
+                instance = new ReplayServer(mode);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start replay server", e);
+            }
+            instance.server.start();
+            logger.info("Replay server started in {} mode at {}", mode, instance.getBaseUrl());
+        }
+        return instance;
+    }
+
+    public static synchronized void stopIfRunning() {
+        if (instance != null) {
+            instance.server.stop(0);
+            instance.executor.shutdownNow();
+            if (instance.mode == Mode.RECORD) {
+                instance.index.save();
+            }
+            logger.info("Replay server stopped");
+            instance = null;
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (mode == Mode.RECORD) {
+                record(exchange);
+            } else {
+                replay(exchange);
+            }
+        } catch (IOException e) {
+            logger.warn("Replay server failed on {}: {}", exchange.getRequestURI(), e.toString());
+            // ConnectException and friends often carry no message
+            String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            send(exchange, 502, "text/plain", reason.getBytes(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 503, "text/plain", new byte[0]);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void replay(HttpExchange exchange) throws IOException {
+        URI uri = exchange.getRequestURI();
+        RecordingIndex.Recording recording = index.find(uri.getRawPath(), uri.getRawQuery());
+        if (recording == null || !Files.exists(recording.getFile())) {
+            logger.debug("No recording for {}", uri);
+            send(exchange, 404, "text/plain", new byte[0]);
+            return;
+        }
+        exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+        send(exchange, 200, recording.getContentType(), Files.readAllBytes(recording.getFile()));
+    }
+
+    private void record(HttpExchange exchange) throws IOException, InterruptedException {
+        URI uri = exchange.getRequestURI();
+        URI target = upstreamTarget(uri);
+        if (target == null) {
+            send(exchange, 404, "text/plain", new byte[0]);
+            return;
+        }
+
+        byte[] requestBody = exchange.getRequestBody().readAllBytes();
+        HttpRequest.Builder request = HttpRequest.newBuilder(target)
+                .timeout(FrameworkConfig.get().getReplayRequestTimeout())
+                .method(exchange.getRequestMethod(), requestBody.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        for (String header : FORWARDED_HEADERS) {
+            String value = exchange.getRequestHeaders().getFirst(header);
+            if (value != null) {
+                request.header(header, value);
+            }
+        }
+
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        String contentType = response.headers().firstValue("Content-Type").orElse("application/octet-stream");
+        byte[] body = isText(contentType) ? rewriteLinks(response.body()) : response.body();
+
+        Headers headers = exchange.getResponseHeaders();
+        response.headers().firstValue("Location").ifPresent(location ->
+                headers.set("Location", new String(rewriteLinks(location.getBytes(StandardCharsets.UTF_8)),
+                        StandardCharsets.UTF_8)));
+        for (String cookie : response.headers().allValues("Set-Cookie")) {
+            // Cookies scoped to the live domain or to https would never reach the local server
+            headers.add("Set-Cookie", cookie.replaceAll("(?i);\\s*(domain=[^;]*|secure)", ""));
+        }
+
+        if ("GET".equals(exchange.getRequestMethod()) && response.statusCode() == 200) {
+            save(uri, contentType, body);
+        }
+        send(exchange, response.statusCode(), contentType, body);
+    }
+
+    private URI upstreamTarget(URI uri) {
+        String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+        String path = uri.getRawPath();
+        if (path.startsWith(ASSET_PREFIX)) {
+            String hostAndPath = path.substring(ASSET_PREFIX.length());
+            int slash = hostAndPath.indexOf('/');
+            String host = slash < 0 ? hostAndPath : hostAndPath.substring(0, slash);
+            return assetHosts.contains(host) ? URI.create("https://" + hostAndPath + query) : null;
+        }
+        return upstream.resolve(path + query);
+    }
+
+    private void save(URI uri, String contentType, byte[] body) throws IOException {
+        String key = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        String name = uri.getRawPath().replaceAll("[^A-Za-z0-9._/-]", "_");
+        if (name.endsWith("/")) {
+            name += "index";
+        }
+        if (uri.getRawQuery() != null) {
+            name += "_" + Integer.toHexString(uri.getRawQuery().hashCode());
+        }
+        if (!name.substring(name.lastIndexOf('/') + 1).contains(".")) {
+            name += extensionFor(contentType);
+        }
+        Path file = filesDir.resolve(name.substring(1));
+        Files.createDirectories(file.getParent());
+        Files.write(file, body);
+        index.put(key, file, contentType);
+        logger.debug("Recorded {} -> {}", key, file);
+    }
+
+    /**
+     * Points absolute links at the site and asset hosts back at this server.
+     * The http:// and https:// forms go first, so the protocol-relative
+     * replacement does not leave their scheme behind.
+     */
+    private byte[] rewriteLinks(byte[] body) {
+        String text = rewriteHost(new String(body, StandardCharsets.UTF_8), upstream.getHost(), "");
+        for (String host : assetHosts) {
+            text = rewriteHost(text, host, ASSET_PREFIX + host);
+        }
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String rewriteHost(String text, String host, String replacement) {
+        return text.replace("https://" + host, replacement)
+                .replace("http://" + host, replacement)
+                .replace("//" + host, replacement);
+    }
+
+    private static boolean isText(String contentType) {
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("javascript") || type.contains("json");
+    }
+
+    private static String extensionFor(String contentType) {
+        String type = contentType.toLowerCase(Locale.ROOT);
+        if (type.contains("html")) {
+            return ".html";
+        } else if (type.contains("javascript")) {
+            return ".js";
+        } else if (type.contains("css")) {
+            return ".css";
+        } else if (type.contains("json")) {
+            return ".json";
+        }
+        return ".bin";
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
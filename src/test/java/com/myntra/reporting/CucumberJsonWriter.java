@@ -0,0 +1,231 @@
+package com.myntra.reporting;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cucumber's JSON report (the format of the json: plugin) with the final run
+ * of each scenario. Scenarios that ran more than once carry an "attempts"
+ * array with the status and duration of every run.
+ */
+final class CucumberJsonWriter {
+
+    private static final String LOG_MEDIA_TYPE = "text/x.cucumber.log+plain";
+
+    private CucumberJsonWriter() {
+    }
+
+    static void write(RunModel model, Path output) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+             JsonOutput json = new Json().newOutput(writer)) {
+            json.beginArray();
+            for (RunModel.Feature feature : model.features()) {
+                List<Map<String, Object>> elements = elements(model, feature);
+                if (!elements.isEmpty()) {
+                    json.write(feature(feature, elements));
+                }
+            }
+            json.endArray();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> feature(RunModel.Feature feature, List<Map<String, Object>> elements) {
+        Map<String, Object> gherkin = feature.getGherkin();
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("line", RunModel.line(gherkin));
+        json.put("elements", elements);
+        json.put("name", gherkin.get("name"));
+        json.put("description", gherkin.getOrDefault("description", ""));
+        json.put("id", id((String) gherkin.get("name")));
+        json.put("keyword", gherkin.get("keyword"));
+        json.put("uri", feature.getUri());
+        List<Map<String, Object>> tags = new ArrayList<>();
+        for (Map<String, Object> tag : (List<Map<String, Object>>) gherkin.getOrDefault("tags", List.of())) {
+            tags.add(Map.of("name", tag.get("name"), "type", "Tag", "location", tag.get("location")));
+        }
+        json.put("tags", tags);
+        return json;
+    }
+
+    private static List<Map<String, Object>> elements(RunModel model, RunModel.Feature feature) {
+        List<Map<String, Object>> elements = new ArrayList<>();
+        List<String> pickleIds = new ArrayList<>(feature.getPickleIds());
+        pickleIds.sort(Comparator.comparingLong(id -> model.pickleLine(model.pickle(id))));
+        for (String pickleId : pickleIds) {
+            List<RunModel.Run> runs = model.runs(pickleId);
+            if (runs.isEmpty()) {
+                continue;
+            }
+            RunModel.Run run = runs.get(runs.size() - 1);
+            Map<String, Object> scenario = model.scenario(run.getPickle());
+            List<RunModel.Step> steps = run.steps();
+
+            List<Map<String, Object>> backgroundSteps = steps(steps, true);
+            if (!backgroundSteps.isEmpty()) {
+                Map<String, Object> background = new LinkedHashMap<>();
+                background.put("line", backgroundSteps.get(0).get("line"));
+                background.put("name", "");
+                background.put("description", "");
+                background.put("type", "background");
+                background.put("keyword", "Background");
+                background.put("steps", backgroundSteps);
+                elements.add(background);
+            }
+
+            Map<String, Object> element = new LinkedHashMap<>();
+            element.put("start_timestamp", DateTimeFormatter.ISO_INSTANT.format(run.getStarted()));
+            element.put("before", hooks(steps, RunModel.Kind.BEFORE));
+            element.put("line", run.getLine());
+            element.put("name", run.getName());
+            element.put("description", scenario.getOrDefault("description", ""));
+            element.put("id", id((String) feature.getGherkin().get("name")) + ";" + id(run.getName()));
+            element.put("after", hooks(steps, RunModel.Kind.AFTER));
+            element.put("type", "scenario");
+            element.put("keyword", scenario.get("keyword"));
+            element.put("steps", steps(steps, false));
+            List<Map<String, Object>> tags = new ArrayList<>();
+            run.getTags().forEach(tag -> tags.add(Map.of("name", tag)));
+            element.put("tags", tags);
+            if (runs.size() > 1) {
+                element.put("attempts", attempts(runs));
+            }
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    /**
+     * Gherkin steps of the background or the scenario, with their step hooks
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> steps(List<RunModel.Step> steps, boolean background) {
+        List<Map<String, Object>> json = new ArrayList<>();
+        List<Map<String, Object>> beforeStep = new ArrayList<>();
+        Map<String, Object> previous = null;
+        boolean previousIncluded = false;
+        for (RunModel.Step step : steps) {
+            switch (step.getKind()) {
+                case BEFORE_STEP:
+                    beforeStep.add(hook(step));
+                    break;
+                case AFTER_STEP:
+                    if (previous != null && previousIncluded) {
+                        ((List<Map<String, Object>>) previous.computeIfAbsent("after", key -> new ArrayList<>()))
+                                .add(hook(step));
+                    }
+                    break;
+                case STEP:
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    if (!beforeStep.isEmpty()) {
+                        entry.put("before", beforeStep);
+                        beforeStep = new ArrayList<>();
+                    }
+                    entry.put("result", result(step.getResult()));
+                    entry.put("line", step.getLine());
+                    entry.put("name", step.getText());
+                    entry.put("match", step.getLocation() == null ? Map.of() : Map.of("location", step.getLocation()));
+                    entry.put("keyword", step.getKeyword());
+                    attachments(step, entry);
+                    previous = entry;
+                    previousIncluded = step.isBackground() == background;
+                    if (previousIncluded) {
+                        json.add(entry);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return json;
+    }
+
+    private static List<Map<String, Object>> hooks(List<RunModel.Step> steps, RunModel.Kind kind) {
+        List<Map<String, Object>> json = new ArrayList<>();
+        for (RunModel.Step step : steps) {
+            if (step.getKind() == kind) {
+                json.add(hook(step));
+            }
+        }
+        return json;
+    }
+
+    private static Map<String, Object> hook(RunModel.Step step) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("result", result(step.getResult()));
+        json.put("match", step.getLocation() == null ? Map.of() : Map.of("location", step.getLocation()));
+        attachments(step, json);
+        return json;
+    }
+
+    private static Map<String, Object> result(RunModel.Result result) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        if (result.getMessage() != null) {
+            json.put("error_message", result.getMessage());
+        }
+        json.put("duration", result.getDurationNanos());
+        json.put("status", RunModel.statusName(result.getStatus()));
+        return json;
+    }
+
+    // Logs become "output" lines, everything else an embedding as the json: plugin writes them
+    private static void attachments(RunModel.Step step, Map<String, Object> json) {
+        List<String> output = new ArrayList<>();
+        List<Map<String, Object>> embeddings = new ArrayList<>();
+        for (RunModel.Attachment attachment : step.getAttachments()) {
+            if (LOG_MEDIA_TYPE.equals(attachment.getMediaType())) {
+                output.add(attachment.getBody());
+                continue;
+            }
+            Map<String, Object> embedding = new LinkedHashMap<>();
+            embedding.put("data", attachment.isBase64() ? attachment.getBody()
+                    : Base64.getEncoder().encodeToString(attachment.getBody().getBytes(StandardCharsets.UTF_8)));
+            embedding.put("mime_type", attachment.getMediaType());
+            if (attachment.getName() != null) {
+                embedding.put("name", attachment.getName());
+            }
+            embeddings.add(embedding);
+        }
+        if (!output.isEmpty()) {
+            json.put("output", output);
+        }
+        if (!embeddings.isEmpty()) {
+            json.put("embeddings", embeddings);
+        }
+    }
+
+    private static List<Map<String, Object>> attempts(List<RunModel.Run> runs) {
+        List<Map<String, Object>> attempts = new ArrayList<>();
+        for (int i = 0; i < runs.size(); i++) {
+            RunModel.Run run = runs.get(i);
+            Map<String, Object> attempt = new LinkedHashMap<>();
+            attempt.put("attempt", i + 1);
+            attempt.put("status", RunModel.statusName(run.getStatus()));
+            attempt.put("durationMs", run.getDurationNanos() / 1_000_000);
+            if (run.getError() != null) {
+                attempt.put("error", run.getError());
+            }
+            attempts.add(attempt);
+        }
+        return attempts;
+    }
+
+    // Same form as Cucumber's ids: lower case with dashes for spaces
+    private static String id(String name) {
+        return name == null ? "" : name.replaceAll("[\\s'_,!]", "-").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,69 @@
+package com.myntra.reporting;
+
+import com.myntra.utils.FrameworkConfig;
+import io.cucumber.core.plugin.MessageFormatter;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the run as Cucumber messages, one JSON envelope per line, to
+ * report.stream.file while scenarios execute. Nothing is kept in memory;
+ * {@link ReportBuilder} turns the stream into the HTML, JSON, JUnit and
+ * Spark reports after the run. TestRunner registers it with the stream
+ * file as plugin argument, so concurrent cells of a cross-browser matrix
+ * each write their own.
+ */
+public class EventStreamPlugin implements ConcurrentEventListener {
+
+    private final MessageFormatter formatter;
+
+    public EventStreamPlugin() {
+        this(file().toFile());
+    }
+
+    public EventStreamPlugin(File stream) {
+        this(open(stream.toPath()));
+    }
+
+    private EventStreamPlugin(MessageFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+    /**
+     * A plugin writing to the given stream instead of a file, e.g. to measure
+     * emission cost. Not a constructor: Cucumber allows plugins only one
+     * single-argument constructor.
+     */
+    public static EventStreamPlugin to(OutputStream out) {
+        return new EventStreamPlugin(new MessageFormatter(out));
+    }
+
+    private static MessageFormatter open(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            return new MessageFormatter(new BufferedOutputStream(Files.newOutputStream(file)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open event stream " + file, e);
+        }
+    }
+
+    /**
+     * Stream written by this JVM; shards each get their own
+     */
+    public static Path file() {
+        return FrameworkConfig.get().getReportStreamFile();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        formatter.setEventPublisher(publisher);
+    }
+}
@@ -0,0 +1,146 @@
+package com.myntra.reporting;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JUnit XML report (the format of the junit: plugin) with one testcase per
+ * scenario, holding the result of its final run
+ */
+final class JunitXmlWriter {
+
+    private JunitXmlWriter() {
+    }
+
+    private static final class TestCase {
+        private final String className;
+        private final String name;
+        private final RunModel.Run run;
+
+        private TestCase(String className, String name, RunModel.Run run) {
+            this.className = className;
+            this.name = name;
+            this.run = run;
+        }
+
+        String getClassName() {
+            return className;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        RunModel.Run getRun() {
+            return run;
+        }
+    }
+
+    static void write(RunModel model, Path output) throws IOException {
+        List<TestCase> testCases = new ArrayList<>();
+        for (RunModel.Feature feature : model.features()) {
+            List<String> pickleIds = new ArrayList<>(feature.getPickleIds());
+            pickleIds.sort(Comparator.comparingLong(id -> model.pickleLine(model.pickle(id))));
+            for (String pickleId : pickleIds) {
+                List<RunModel.Run> runs = model.runs(pickleId);
+                if (runs.isEmpty()) {
+                    continue;
+                }
+                RunModel.Run run = runs.get(runs.size() - 1);
+                int example = model.exampleNumber(feature, run.getPickle());
+                String name = example == 0 ? run.getName() : run.getName() + " - Example #" + example;
+                testCases.add(new TestCase((String) feature.getGherkin().get("name"), name, run));
+            }
+        }
+
+        try (OutputStream out = Files.newOutputStream(output)) {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("name", "Cucumber");
+            xml.writeAttribute("time", seconds(model.getRunDuration().toNanos()));
+            xml.writeAttribute("tests", String.valueOf(testCases.size()));
+            xml.writeAttribute("skipped", String.valueOf(count(testCases, "SKIPPED")));
+            xml.writeAttribute("failures", String.valueOf(testCases.size() - count(testCases, "SKIPPED")
+                    - count(testCases, "PASSED")));
+            xml.writeAttribute("errors", "0");
+            if (model.getRunStarted() != null) {
+                xml.writeAttribute("timestamp", DateTimeFormatter.ISO_INSTANT.format(model.getRunStarted()));
+            }
+            xml.writeCharacters("\n");
+            for (TestCase testCase : testCases) {
+                writeTestCase(xml, testCase);
+            }
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not write JUnit report: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeTestCase(XMLStreamWriter xml, TestCase testCase) throws XMLStreamException {
+        RunModel.Run run = testCase.getRun();
+        xml.writeStartElement("testcase");
+        xml.writeAttribute("classname", testCase.getClassName());
+        xml.writeAttribute("name", testCase.getName());
+        xml.writeAttribute("time", seconds(run.getDurationNanos()));
+        xml.writeCharacters("\n");
+
+        String status = run.getStatus();
+        if (status.equals("SKIPPED")) {
+            xml.writeEmptyElement("skipped");
+            xml.writeCharacters("\n");
+        } else if (!status.equals("PASSED")) {
+            String error = run.getError() == null ? "The scenario has " + RunModel.statusName(status) + " steps"
+                    : run.getError();
+            xml.writeStartElement("failure");
+            xml.writeAttribute("message", error.lines().findFirst().orElse(""));
+            writeCData(xml, error);
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+        }
+
+        // Same step listing as Cucumber's JUnit formatter
+        StringBuilder steps = new StringBuilder("\n");
+        for (RunModel.Step step : run.steps()) {
+            if (step.getKind() != RunModel.Kind.STEP) {
+                continue;
+            }
+            String line = step.getKeyword() + step.getText();
+            steps.append(line).append(".".repeat(Math.max(1, 76 - line.length())))
+                    .append(RunModel.statusName(step.getResult().getStatus())).append('\n');
+        }
+        xml.writeStartElement("system-out");
+        writeCData(xml, steps.toString());
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+    }
+
+    // A CDATA section cannot contain its own terminator
+    private static void writeCData(XMLStreamWriter xml, String text) throws XMLStreamException {
+        xml.writeCData(text.replace("]]>", "]]]]><![CDATA[>"));
+    }
+
+    private static long count(List<TestCase> testCases, String status) {
+        return testCases.stream().filter(testCase -> testCase.getRun().getStatus().equals(status)).count();
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,175 @@
+package com.myntra.reporting;
+
+import com.myntra.utils.FrameworkConfig;
+import io.cucumber.htmlformatter.MessagesToHtmlWriter;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.TestRunStarted;
+import io.cucumber.messages.types.Timestamp;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the HTML, JSON, JUnit and Spark reports from event streams written
+ * by {@link EventStreamPlugin}, after the run instead of during it.
+ * report.formats selects the outputs. Runs at the end of an unsharded run,
+ * and standalone for streams collected elsewhere:
+ * ReportBuilder &lt;output dir&gt; &lt;events.ndjson&gt;...
+ */
+public final class ReportBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportBuilder.class);
+
+    public static final Path REPORT_DIR = Path.of("target/cucumber-reports");
+
+    private ReportBuilder() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ReportBuilder <output dir> <events.ndjson>...");
+            System.exit(2);
+        }
+        build(Arrays.stream(args).skip(1).map(Path::of).collect(Collectors.toList()), Path.of(args[0]));
+    }
+
+    /**
+     * Writes cucumber.html, cucumber.json and cucumber.xml to the output
+     * directory and the Spark report to its extent.properties location
+     */
+    public static void build(List<Path> streams, Path outputDir) {
+        build(streams, outputDir, null);
+    }
+
+    /**
+     * Reports for one cell of a cross-browser matrix; its Spark report goes
+     * to a subdirectory of the configured location named after the cell
+     */
+    public static void build(List<Path> streams, Path outputDir, String cell) {
+        Set<String> formats = FrameworkConfig.get().getReportFormats();
+        List<Path> existing = streams.stream().filter(Files::isRegularFile).collect(Collectors.toList());
+        if (existing.isEmpty()) {
+            logger.warn("No event stream found in {}, no reports built", streams);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(outputDir);
+            if (formats.contains("html")) {
+                writeHtml(existing, outputDir.resolve("cucumber.html"));
+            }
+            if (formats.contains("json") || formats.contains("junit") || formats.contains("spark")) {
+                RunModel model = RunModel.read(existing);
+                if (formats.contains("json")) {
+                    CucumberJsonWriter.write(model, outputDir.resolve("cucumber.json"));
+                }
+                if (formats.contains("junit")) {
+                    JunitXmlWriter.write(model, outputDir.resolve("cucumber.xml"));
+                }
+                if (formats.contains("spark")) {
+                    SparkWriter.write(model, cell);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not build reports from " + existing, e);
+        }
+        logger.info("Built {} report(s) from {} event stream(s) in {} ms", formats, existing.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Cucumber's HTML report, written by the formatter's own writer with the
+     * envelopes copied into it line by line. Streams of several shards share
+     * one meta and test run start, and end with the most severe test run result.
+     */
+    static void writeHtml(List<Path> streams, Path output) throws IOException {
+        RawEnvelopes envelopes = new RawEnvelopes();
+        ShardedRun run = new ShardedRun();
+        try (MessagesToHtmlWriter html = new MessagesToHtmlWriter(
+                new BufferedOutputStream(Files.newOutputStream(output)), envelopes)) {
+            RunModel.forEachLine(streams, line -> {
+                if (run.keep(line)) {
+                    envelopes.write(html, line);
+                }
+            });
+            if (run.finished != null) {
+                envelopes.write(html, run.finished);
+            }
+        }
+    }
+
+    /**
+     * Decides which envelopes of several shard streams go into one report
+     */
+    private static final class ShardedRun {
+
+        private final Json json = new Json();
+        private boolean metaWritten;
+        private boolean runStartedWritten;
+        // Held back until every stream is read
+        private String finished;
+
+        @SuppressWarnings("unchecked")
+        boolean keep(String line) {
+            Map<String, Object> envelope = json.toType(line, Json.MAP_TYPE);
+            if (envelope.containsKey("testRunFinished")) {
+                Map<String, Object> runFinished = (Map<String, Object>) envelope.get("testRunFinished");
+                if (finished == null || !Boolean.TRUE.equals(runFinished.get("success"))) {
+                    finished = line;
+                }
+                return false;
+            }
+            if (envelope.containsKey("meta")) {
+                boolean first = !metaWritten;
+                metaWritten = true;
+                return first;
+            }
+            if (envelope.containsKey("testRunStarted")) {
+                boolean first = !runStartedWritten;
+                runStartedWritten = true;
+                return first;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Hands envelopes that are already serialized to the HTML writer, so
+     * the stream is not parsed into message objects just to be written back.
+     * The writer only passes its envelope through to this serializer.
+     */
+    private static final class RawEnvelopes implements MessagesToHtmlWriter.Serializer {
+
+        private static final Envelope PLACEHOLDER = Envelope.of(new TestRunStarted(new Timestamp(0L, 0L)));
+
+        private String line;
+
+        void write(MessagesToHtmlWriter html, String line) {
+            this.line = line;
+            try {
+                html.write(PLACEHOLDER);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // "</" would end the script element the messages are embedded in
+        @Override
+        public void writeValue(Writer writer, Envelope envelope) throws IOException {
+            writer.write(line.replace("</", "<\\/"));
+        }
+    }
+}
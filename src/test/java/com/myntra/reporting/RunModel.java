@@ -0,0 +1,560 @@
+package com.myntra.reporting;
+
+import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
+import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * What the report writers need from one or more event streams: the feature
+ * files, every run of every pickle and the result of each of its steps.
+ * Only finished scenarios are kept, as compact per-step results, so the
+ * builder needs far less memory than the reporters it replaces.
+ */
+final class RunModel {
+
+    // Cucumber's status precedence, least to most severe
+    private static final List<String> SEVERITY = List.of(
+            "UNKNOWN", "PASSED", "SKIPPED", "PENDING", "UNDEFINED", "AMBIGUOUS", "FAILED");
+
+    enum Kind { BEFORE, BEFORE_STEP, STEP, AFTER_STEP, AFTER }
+
+    static final class Result {
+        private final String status;
+        private final long durationNanos;
+        private final String message;
+
+        private Result(String status, long durationNanos, String message) {
+            this.status = status;
+            this.durationNanos = durationNanos;
+            this.message = message;
+        }
+
+        String getStatus() {
+            return status;
+        }
+
+        long getDurationNanos() {
+            return durationNanos;
+        }
+
+        String getMessage() {
+            return message;
+        }
+    }
+
+    static final class Attachment {
+        private final String body;
+        private final String mediaType;
+        private final boolean base64;
+        private final String name;
+
+        private Attachment(String body, String mediaType, boolean base64, String name) {
+            this.body = body;
+            this.mediaType = mediaType;
+            this.base64 = base64;
+            this.name = name;
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        String getMediaType() {
+            return mediaType;
+        }
+
+        boolean isBase64() {
+            return base64;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * One test step of a run, a hook or a Gherkin step
+     */
+    static final class Step {
+        private final Kind kind;
+        private final String keyword;
+        private final String text;
+        private final long line;
+        private final boolean background;
+        private final String location;
+        private final Result result;
+        private final List<Attachment> attachments;
+
+        private Step(Kind kind, String keyword, String text, long line, boolean background, String location, Result result, List<Attachment> attachments) {
+            this.kind = kind;
+            this.keyword = keyword;
+            this.text = text;
+            this.line = line;
+            this.background = background;
+            this.location = location;
+            this.result = result;
+            this.attachments = attachments;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        String getKeyword() {
+            return keyword;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        long getLine() {
+            return line;
+        }
+
+        boolean isBackground() {
+            return background;
+        }
+
+        String getLocation() {
+            return location;
+        }
+
+        Result getResult() {
+            return result;
+        }
+
+        List<Attachment> getAttachments() {
+            return attachments;
+        }
+    }
+
+    static final class Feature {
+        private final String uri;
+        private final Map<String, Object> gherkin;
+        private final List<String> pickleIds = new ArrayList<>();
+
+        private Feature(String uri, Map<String, Object> gherkin) {
+            this.uri = uri;
+            this.gherkin = gherkin;
+        }
+
+        String getUri() {
+            return uri;
+        }
+
+        Map<String, Object> getGherkin() {
+            return gherkin;
+        }
+
+        List<String> getPickleIds() {
+            return pickleIds;
+        }
+    }
+
+    final class Run {
+        private final Map<String, Object> pickle;
+        private final Map<String, Object> testCase;
+        private final Instant started;
+        private Instant finished;
+        private final Map<String, Result> results = new HashMap<>();
+        private final Map<String, List<Attachment>> attachments = new HashMap<>();
+
+        private Run(Map<String, Object> pickle, Map<String, Object> testCase, Instant started) {
+            this.pickle = pickle;
+            this.testCase = testCase;
+            this.started = started;
+        }
+
+        Map<String, Object> getPickle() {
+            return pickle;
+        }
+
+        String getName() {
+            return (String) pickle.get("name");
+        }
+
+        Instant getStarted() {
+            return started;
+        }
+
+        long getDurationNanos() {
+            return finished == null ? 0 : Duration.between(started, finished).toNanos();
+        }
+
+        /**
+         * Most severe step status
+         */
+        String getStatus() {
+            return results.values().stream()
+                    .map(Result::getStatus)
+                    .max(Comparator.comparingInt(SEVERITY::indexOf))
+                    .orElse("UNKNOWN");
+        }
+
+        /**
+         * Message of the first failed step, if any
+         */
+        String getError() {
+            return steps().stream()
+                    .map(Step::getResult)
+                    .filter(result -> result.getMessage() != null)
+                    .map(Result::getMessage)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String> getTags() {
+            List<String> tags = new ArrayList<>();
+            for (Map<String, Object> tag : (List<Map<String, Object>>) pickle.getOrDefault("tags", List.of())) {
+                tags.add((String) tag.get("name"));
+            }
+            return tags;
+        }
+
+        /**
+         * Line of the scenario, or of the example row for an outline
+         */
+        long getLine() {
+            return pickleLine(pickle);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Step> steps() {
+            List<Map<String, Object>> testSteps = (List<Map<String, Object>>) testCase.get("testSteps");
+            int first = -1;
+            int last = -1;
+            for (int i = 0; i < testSteps.size(); i++) {
+                if (testSteps.get(i).containsKey("pickleStepId")) {
+                    first = first < 0 ? i : first;
+                    last = i;
+                }
+            }
+            Map<String, Map<String, Object>> pickleSteps = new HashMap<>();
+            for (Map<String, Object> step : (List<Map<String, Object>>) pickle.get("steps")) {
+                pickleSteps.put((String) step.get("id"), step);
+            }
+
+            List<Step> steps = new ArrayList<>();
+            for (int i = 0; i < testSteps.size(); i++) {
+                Map<String, Object> testStep = testSteps.get(i);
+                String id = (String) testStep.get("id");
+                Result result = results.getOrDefault(id, new Result("UNKNOWN", 0, null));
+                List<Attachment> stepAttachments = attachments.getOrDefault(id, List.of());
+                if (testStep.containsKey("hookId")) {
+                    Map<String, Object> hook = hooks.get((String) testStep.get("hookId"));
+                    Kind byPosition = i < first || first < 0 ? Kind.BEFORE : i > last ? Kind.AFTER : Kind.AFTER_STEP;
+                    Kind kind = hookKind(hook, byPosition);
+                    steps.add(new Step(kind, null, null, 0, false, location(hook), result, stepAttachments));
+                } else {
+                    Map<String, Object> pickleStep = pickleSteps.get((String) testStep.get("pickleStepId"));
+                    String astNodeId = ((List<String>) pickleStep.get("astNodeIds")).get(0);
+                    Map<String, Object> gherkinStep = nodes.get(astNodeId);
+                    List<String> definitions = (List<String>) testStep.getOrDefault("stepDefinitionIds", List.of());
+                    String location = definitions.isEmpty() ? null : location(stepDefinitions.get(definitions.get(0)));
+                    steps.add(new Step(Kind.STEP, (String) gherkinStep.get("keyword"), (String) pickleStep.get("text"),
+                            line(gherkinStep), backgroundSteps.contains(astNodeId), location, result,
+                            stepAttachments));
+                }
+            }
+            return steps;
+        }
+    }
+
+    private final Map<String, Feature> features = new LinkedHashMap<>();
+    // Gherkin AST nodes by id: scenarios, steps and example rows
+    private final Map<String, Map<String, Object>> nodes = new HashMap<>();
+    private final Set<String> backgroundSteps = new HashSet<>();
+    private final Map<String, Map<String, Object>> pickles = new HashMap<>();
+    private final Map<String, Map<String, Object>> testCases = new HashMap<>();
+    private final Map<String, Map<String, Object>> hooks = new HashMap<>();
+    private final Map<String, Map<String, Object>> stepDefinitions = new HashMap<>();
+    private final Map<String, Run> running = new HashMap<>();
+    private final Map<String, List<Run>> runs = new HashMap<>();
+    private final Map<String, Kind> hookKinds = new HashMap<>();
+    private Instant runStarted;
+    private Instant runFinished;
+
+    private RunModel() {
+    }
+
+    /**
+     * Reads the streams in order; streams of several shards can be combined
+     */
+    static RunModel read(List<Path> streams) throws IOException {
+        RunModel model = new RunModel();
+        Json json = new Json();
+        forEachLine(streams, line -> model.accept(json.toType(line, Json.MAP_TYPE)));
+        return model;
+    }
+
+    static void forEachLine(List<Path> streams, Consumer<String> consumer) throws IOException {
+        for (Path stream : streams) {
+            try (BufferedReader reader = Files.newBufferedReader(stream, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        consumer.accept(line);
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void accept(Map<String, Object> envelope) {
+        if (envelope.containsKey("gherkinDocument")) {
+            Map<String, Object> document = (Map<String, Object>) envelope.get("gherkinDocument");
+            Map<String, Object> feature = (Map<String, Object>) document.get("feature");
+            if (feature != null) {
+                features.computeIfAbsent((String) document.get("uri"), uri -> new Feature(uri, feature));
+                index((List<Map<String, Object>>) feature.get("children"));
+            }
+        } else if (envelope.containsKey("pickle")) {
+            Map<String, Object> pickle = (Map<String, Object>) envelope.get("pickle");
+            if (pickles.putIfAbsent((String) pickle.get("id"), pickle) == null) {
+                Feature feature = features.get((String) pickle.get("uri"));
+                if (feature != null) {
+                    feature.pickleIds.add((String) pickle.get("id"));
+                }
+            }
+        } else if (envelope.containsKey("hook")) {
+            Map<String, Object> hook = (Map<String, Object>) envelope.get("hook");
+            hooks.put((String) hook.get("id"), hook);
+        } else if (envelope.containsKey("stepDefinition")) {
+            Map<String, Object> definition = (Map<String, Object>) envelope.get("stepDefinition");
+            stepDefinitions.put((String) definition.get("id"), definition);
+        } else if (envelope.containsKey("testRunStarted")) {
+            Instant started = instant(((Map<String, Object>) envelope.get("testRunStarted")).get("timestamp"));
+            runStarted = runStarted == null || started.isBefore(runStarted) ? started : runStarted;
+        } else if (envelope.containsKey("testCase")) {
+            Map<String, Object> testCase = (Map<String, Object>) envelope.get("testCase");
+            testCases.put((String) testCase.get("id"), testCase);
+        } else if (envelope.containsKey("testCaseStarted")) {
+            Map<String, Object> started = (Map<String, Object>) envelope.get("testCaseStarted");
+            Map<String, Object> testCase = testCases.get((String) started.get("testCaseId"));
+            Map<String, Object> pickle = pickles.get((String) testCase.get("pickleId"));
+            Run run = new Run(pickle, testCase, instant(started.get("timestamp")));
+            running.put((String) started.get("id"), run);
+            runs.computeIfAbsent((String) pickle.get("id"), id -> new ArrayList<>()).add(run);
+        } else if (envelope.containsKey("testStepFinished")) {
+            Map<String, Object> finished = (Map<String, Object>) envelope.get("testStepFinished");
+            Map<String, Object> result = (Map<String, Object>) finished.get("testStepResult");
+            Run run = running.get((String) finished.get("testCaseStartedId"));
+            if (run != null) {
+                run.results.put((String) finished.get("testStepId"), new Result((String) result.get("status"),
+                        nanos(result.get("duration")), (String) result.get("message")));
+            }
+        } else if (envelope.containsKey("attachment")) {
+            Map<String, Object> attachment = (Map<String, Object>) envelope.get("attachment");
+            Run run = running.get((String) attachment.get("testCaseStartedId"));
+            if (run != null) {
+                run.attachments.computeIfAbsent((String) attachment.get("testStepId"), id -> new ArrayList<>())
+                        .add(new Attachment((String) attachment.get("body"), (String) attachment.get("mediaType"),
+                                "BASE64".equals(attachment.get("contentEncoding")),
+                                (String) attachment.get("fileName")));
+            }
+        } else if (envelope.containsKey("testCaseFinished")) {
+            Map<String, Object> finished = (Map<String, Object>) envelope.get("testCaseFinished");
+            Run run = running.remove((String) finished.get("testCaseStartedId"));
+            if (run != null) {
+                run.finished = instant(finished.get("timestamp"));
+            }
+        } else if (envelope.containsKey("testRunFinished")) {
+            Instant finished = instant(((Map<String, Object>) envelope.get("testRunFinished")).get("timestamp"));
+            runFinished = runFinished == null || finished.isAfter(runFinished) ? finished : runFinished;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void index(List<Map<String, Object>> children) {
+        for (Map<String, Object> child : children) {
+            if (child.containsKey("rule")) {
+                index((List<Map<String, Object>>) ((Map<String, Object>) child.get("rule")).get("children"));
+            } else if (child.containsKey("background")) {
+                Map<String, Object> background = (Map<String, Object>) child.get("background");
+                for (Map<String, Object> step : (List<Map<String, Object>>) background.get("steps")) {
+                    nodes.put((String) step.get("id"), step);
+                    backgroundSteps.add((String) step.get("id"));
+                }
+            } else if (child.containsKey("scenario")) {
+                Map<String, Object> scenario = (Map<String, Object>) child.get("scenario");
+                nodes.put((String) scenario.get("id"), scenario);
+                for (Map<String, Object> step : (List<Map<String, Object>>) scenario.get("steps")) {
+                    nodes.put((String) step.get("id"), step);
+                }
+                for (Map<String, Object> examples : (List<Map<String, Object>>) scenario.getOrDefault("examples",
+                        List.of())) {
+                    for (Map<String, Object> row : (List<Map<String, Object>>) examples.getOrDefault("tableBody",
+                            List.of())) {
+                        nodes.put((String) row.get("id"), row);
+                    }
+                }
+            }
+        }
+    }
+
+    List<Feature> features() {
+        return new ArrayList<>(features.values());
+    }
+
+    Map<String, Object> pickle(String pickleId) {
+        return pickles.get(pickleId);
+    }
+
+    /**
+     * Every run of the pickle in the order they started; reruns come last
+     */
+    List<Run> runs(String pickleId) {
+        return runs.getOrDefault(pickleId, List.of());
+    }
+
+    /**
+     * The Gherkin scenario (or outline) a pickle was compiled from
+     */
+    @SuppressWarnings("unchecked")
+    Map<String, Object> scenario(Map<String, Object> pickle) {
+        return nodes.get(((List<String>) pickle.get("astNodeIds")).get(0));
+    }
+
+    /**
+     * Position of an outline example among the pickles of its outline,
+     * counting from 1, or 0 for a plain scenario
+     */
+    @SuppressWarnings("unchecked")
+    int exampleNumber(Feature feature, Map<String, Object> pickle) {
+        List<String> astNodeIds = (List<String>) pickle.get("astNodeIds");
+        if (astNodeIds.size() < 2) {
+            return 0;
+        }
+        int number = 0;
+        for (String pickleId : feature.pickleIds) {
+            Map<String, Object> other = pickles.get(pickleId);
+            if (((List<String>) other.get("astNodeIds")).get(0).equals(astNodeIds.get(0))) {
+                number++;
+            }
+            if (other == pickle) {
+                return number;
+            }
+        }
+        return number;
+    }
+
+    @SuppressWarnings("unchecked")
+    long pickleLine(Map<String, Object> pickle) {
+        List<String> astNodeIds = (List<String>) pickle.get("astNodeIds");
+        return line(nodes.get(astNodeIds.get(astNodeIds.size() - 1)));
+    }
+
+    Instant getRunStarted() {
+        return runStarted;
+    }
+
+    Duration getRunDuration() {
+        return runStarted == null || runFinished == null ? Duration.ZERO : Duration.between(runStarted, runFinished);
+    }
+
+    @SuppressWarnings("unchecked")
+    static long line(Map<String, Object> node) {
+        return ((Number) ((Map<String, Object>) node.get("location")).get("line")).longValue();
+    }
+
+    static String statusName(String status) {
+        return status.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Hook kind from its annotation; the position in the test case is used
+     * when the glue class is not on the classpath
+     */
+    @SuppressWarnings("unchecked")
+    private Kind hookKind(Map<String, Object> hook, Kind byPosition) {
+        Map<String, Object> method = javaMethod(hook);
+        if (method == null) {
+            return byPosition;
+        }
+        return hookKinds.computeIfAbsent(method.get("className") + "#" + method.get("methodName"), key -> {
+            try {
+                Class<?> glue = Class.forName((String) method.get("className"), false,
+                        RunModel.class.getClassLoader());
+                for (Method candidate : glue.getDeclaredMethods()) {
+                    if (!candidate.getName().equals(method.get("methodName"))) {
+                        continue;
+                    }
+                    if (candidate.isAnnotationPresent(Before.class)) {
+                        return Kind.BEFORE;
+                    } else if (candidate.isAnnotationPresent(After.class)) {
+                        return Kind.AFTER;
+                    } else if (candidate.isAnnotationPresent(BeforeStep.class)) {
+                        return Kind.BEFORE_STEP;
+                    } else if (candidate.isAnnotationPresent(AfterStep.class)) {
+                        return Kind.AFTER_STEP;
+                    }
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Reports built from another project's stream
+            }
+            return byPosition;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> javaMethod(Map<String, Object> definition) {
+        if (definition == null) {
+            return null;
+        }
+        Map<String, Object> source = (Map<String, Object>) definition.getOrDefault("sourceReference", Map.of());
+        return (Map<String, Object>) source.get("javaMethod");
+    }
+
+    /**
+     * Glue method as "package.Class.method(ParameterType)", as in Cucumber's JSON report
+     */
+    @SuppressWarnings("unchecked")
+    private static String location(Map<String, Object> definition) {
+        Map<String, Object> method = javaMethod(definition);
+        if (method == null) {
+            return null;
+        }
+        return method.get("className") + "." + method.get("methodName") + "("
+                + String.join(",", (List<String>) method.getOrDefault("methodParameterTypes", List.of())) + ")";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Instant instant(Object timestamp) {
+        Map<String, Object> value = (Map<String, Object>) timestamp;
+        return Instant.ofEpochSecond(((Number) value.get("seconds")).longValue(),
+                ((Number) value.get("nanos")).longValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long nanos(Object duration) {
+        if (duration == null) {
+            return 0;
+        }
+        Map<String, Object> value = (Map<String, Object>) duration;
+        return ((Number) value.get("seconds")).longValue() * 1_000_000_000L + ((Number) value.get("nanos")).longValue();
+    }
+}
@@ -0,0 +1,277 @@
+package com.myntra.reporting;
+
+import com.myntra.metrics.Metrics;
+import com.myntra.utils.FrameworkConfig;
+import io.cucumber.java.Scenario;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Screenshot capture with background post-processing.
+ * Only the screenshot command itself runs on the driver thread; decoding,
+ * downscaling, JPEG encoding, deduplication and the disk write happen on a
+ * small background executor. The output path is chosen up front so reports
+ * can link to the file before it has been written.
+ */
+public final class ScreenshotPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotPipeline.class);
+    private static final ScreenshotPipeline INSTANCE = new ScreenshotPipeline();
+
+    /**
+     * Which steps get their own screenshot, on top of the scenario-level capture
+     */
+    public enum StepMode {
+        OFF, FAILED, EVERY;
+
+        static StepMode parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace("-STEP", ""));
+        }
+    }
+
+    private final Path dir;
+    private final String linkPrefix;
+    private final long budgetBytes;
+    private final int maxWidth;
+    private final float quality;
+    private final boolean onFailure;
+    private final boolean onSuccess;
+    private final StepMode stepMode;
+
+    private final ExecutorService executor;
+    private final Queue<Future<?>> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, Path> filesByDigest = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger deduplicated = new AtomicInteger();
+    private final AtomicInteger skippedOverBudget = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private ScreenshotPipeline() {
+        FrameworkConfig config = FrameworkConfig.get();
+        this.dir = config.getScreenshotDir();
+        this.linkPrefix = config.getScreenshotLinkPrefix();
+        this.budgetBytes = config.getScreenshotBudgetBytes();
+        this.maxWidth = config.getScreenshotMaxWidth();
+        this.quality = config.getScreenshotQuality();
+        this.onFailure = config.isScreenshotOnFailure();
+        this.onSuccess = config.isScreenshotOnSuccess();
+        this.stepMode = StepMode.parse(config.getScreenshotStepMode());
+
+        int threads = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2));
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-writer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public static ScreenshotPipeline getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Scenario-level capture according to screenshot.on.failure / screenshot.on.success
+     */
+    public void captureScenario(Scenario scenario, WebDriver driver) {
+        if (scenario.isFailed() ? onFailure : onSuccess) {
+            attach(scenario, driver, scenario.getName());
+        }
+    }
+
+    /**
+     * Step-level capture according to screenshot.step.mode
+     */
+    public void captureStep(Scenario scenario, WebDriver driver) {
+        if (stepMode == StepMode.EVERY || (stepMode == StepMode.FAILED && scenario.isFailed())) {
+            attach(scenario, driver, scenario.getName() + " step");
+        }
+    }
+
+    /**
+     * Captures a screenshot and attaches a link to the file instead of the image bytes
+     */
+    public void attach(Scenario scenario, WebDriver driver, String label) {
+        capture(driver, label).ifPresent(file -> {
+            scenario.attach(linkPrefix + file.getFileName(), "text/uri-list", label);
+            logger.info("Screenshot queued: {}", file);
+        });
+    }
+
+    /**
+     * Takes the screenshot on the calling thread and queues the rest.
+     * Returns the path the JPEG will be written to, or empty when the run's
+     * size budget is used up or there is no driver that can take a screenshot.
+     * The budget is soft: captures already queued may overshoot it slightly.
+     */
+    public Optional<Path> capture(WebDriver driver, String label) {
+        if (!(driver instanceof TakesScreenshot)) {
+            // No browser (setUp failed or the scenario was skipped) or one that cannot take screenshots
+            logger.debug("No screenshot for '{}': {}", label,
+                    driver == null ? "no driver" : driver.getClass().getSimpleName() + " cannot take screenshots");
+            return Optional.empty();
+        }
+        if (budgetBytes > 0 && bytesWritten.get() >= budgetBytes) {
+            if (skippedOverBudget.getAndIncrement() == 0) {
+                logger.warn("Screenshot budget of {} MB used up, skipping further captures",
+                        budgetBytes / (1024 * 1024));
+            }
+            return Optional.empty();
+        }
+
+        byte[] png;
+        try {
+            png = Metrics.time(Metrics.ACTION, "Screenshot.capture",
+                    () -> ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        } catch (RuntimeException e) {
+            logger.warn("Could not take screenshot for '{}': {}", label, e.getMessage());
+            return Optional.empty();
+        }
+
+        Path target = dir.resolve(String.format(Locale.ROOT, "%04d-%s.jpg", sequence.incrementAndGet(), slug(label)));
+        pending.add(executor.submit(() -> process(png, target)));
+        return Optional.of(target);
+    }
+
+    /**
+     * Blocks until every queued screenshot is on disk, then logs a summary
+     */
+    public void flush() {
+        Future<?> future;
+        while ((future = pending.poll()) != null) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.warn("Screenshot write failed: {}", e.getCause().getMessage());
+            }
+        }
+        if (sequence.get() > 0) {
+            logger.info("Screenshots: {} written ({} KB), {} deduplicated, {} failed, {} skipped over budget",
+                    written.get(), bytesWritten.get() / 1024, deduplicated.get(), failed.get(),
+                    skippedOverBudget.get());
+        }
+    }
+
+    private void process(byte[] png, Path target) {
+        try {
+            Files.createDirectories(dir);
+            String digest = sha256(png);
+            Path existing = filesByDigest.putIfAbsent(digest, target);
+            if (existing != null && link(target, existing)) {
+                deduplicated.incrementAndGet();
+                return;
+            }
+            byte[] jpeg = encode(png);
+            Files.write(target, jpeg);
+            bytesWritten.addAndGet(jpeg.length);
+            written.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        }
+    }
+
+    /**
+     * Points the new path at an identical earlier screenshot without using
+     * more disk space. Falls back to a fresh write if links are unsupported.
+     */
+    private boolean link(Path target, Path existing) {
+        try {
+            // The first capture of this image may still be encoding on the other writer thread
+            for (int attempt = 0; attempt < 50 && !Files.exists(existing); attempt++) {
+                Thread.sleep(20);
+            }
+            Files.createLink(target, existing);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private byte[] encode(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Screenshot is not a readable PNG");
+        }
+        double scale = maxWidth > 0 && source.getWidth() > maxWidth ? (double) maxWidth / source.getWidth() : 1.0;
+        int width = (int) Math.round(source.getWidth() * scale);
+        int height = (int) Math.round(source.getHeight() * scale);
+
+        // JPEG has no alpha channel, so always redraw into plain RGB
+        BufferedImage rgb = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String slug(String label) {
+        String slug = label.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        return slug.length() > 60 ? slug.substring(0, 60) : slug;
+    }
+}
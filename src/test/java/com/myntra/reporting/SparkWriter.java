@@ -0,0 +1,164 @@
+package com.myntra.reporting;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.GherkinKeyword;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Extent Spark report with one test per feature and a node per scenario,
+ * configured from extent.properties as the Extent Cucumber adapter was.
+ * Screenshots are referenced by path, never embedded. A cell of a
+ * cross-browser matrix gets its report in a subdirectory named after it.
+ */
+final class SparkWriter {
+
+    private static final String URI_LIST = "text/uri-list";
+    private static final String LOG_MEDIA_TYPE = "text/x.cucumber.log+plain";
+
+    private SparkWriter() {
+    }
+
+    static void write(RunModel model, String cell) throws IOException {
+        Properties settings = settings();
+        if (!Boolean.parseBoolean(settings.getProperty("extent.reporter.spark.start", "true"))) {
+            return;
+        }
+        Path output = Paths.get(settings.getProperty("extent.reporter.spark.out",
+                "test-output/SparkReport/Spark.html"));
+        String screenshotPath = settings.getProperty("screenshot.rel.path", "../screenshots/");
+        if (cell != null) {
+            output = output.resolveSibling(cell).resolve(output.getFileName());
+            screenshotPath = "../" + screenshotPath;
+        }
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        ExtentSparkReporter spark = new ExtentSparkReporter(output.toString());
+        String config = settings.getProperty("extent.reporter.spark.config");
+        if (config != null && Files.isRegularFile(Paths.get(config))) {
+            spark.loadXMLConfig(new File(config));
+        }
+
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(spark);
+        for (String name : settings.stringPropertyNames()) {
+            if (name.startsWith("systeminfo.")) {
+                extent.setSystemInfo(name.substring("systeminfo.".length()), settings.getProperty(name));
+            }
+        }
+
+        for (RunModel.Feature feature : model.features()) {
+            List<String> pickleIds = feature.getPickleIds().stream()
+                    .filter(id -> !model.runs(id).isEmpty())
+                    .sorted(Comparator.comparingLong(id -> model.pickleLine(model.pickle(id))))
+                    .collect(Collectors.toList());
+            if (pickleIds.isEmpty()) {
+                continue;
+            }
+            Map<String, Object> gherkin = feature.getGherkin();
+            ExtentTest featureTest = feature(extent, (String) gherkin.get("name"),
+                    (String) gherkin.getOrDefault("description", ""));
+            for (String pickleId : pickleIds) {
+                writeScenario(model, featureTest, model.runs(pickleId), screenshotPath);
+            }
+        }
+        extent.flush();
+    }
+
+    private static void writeScenario(RunModel model, ExtentTest featureTest, List<RunModel.Run> runs,
+                                      String screenshotPath) {
+        RunModel.Run run = runs.get(runs.size() - 1);
+        String scenarioKeyword = (String) model.scenario(run.getPickle()).get("keyword");
+        ExtentTest scenario = node(featureTest, scenarioKeyword, run.getName());
+        scenario.getModel().setStartTime(Date.from(run.getStarted()));
+        scenario.getModel().setEndTime(
+                new Date(run.getStarted().toEpochMilli() + run.getDurationNanos() / 1_000_000));
+        run.getTags().forEach(tag -> scenario.assignCategory(tag));
+        if (runs.size() > 1) {
+            List<String> attempts = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i++) {
+                attempts.add("attempt " + (i + 1) + " " + RunModel.statusName(runs.get(i).getStatus())
+                        + " (" + runs.get(i).getDurationNanos() / 1_000_000 + " ms)");
+            }
+            scenario.info("Ran " + runs.size() + " times: " + String.join(", ", attempts));
+        }
+
+        for (RunModel.Step step : run.steps()) {
+            if (step.getKind() != RunModel.Kind.STEP) {
+                // Hooks only show up when they fail or attach something
+                if (step.getResult().getMessage() != null) {
+                    scenario.fail(step.getLocation() + ": " + step.getResult().getMessage());
+                }
+                attach(scenario, step, screenshotPath);
+                continue;
+            }
+            ExtentTest node = node(scenario, step.getKeyword().trim(), step.getKeyword() + step.getText());
+            switch (step.getResult().getStatus()) {
+                case "PASSED":
+                    node.pass("");
+                    break;
+                case "FAILED":
+                    node.fail(step.getResult().getMessage());
+                    break;
+                case "SKIPPED":
+                    node.skip("");
+                    break;
+                default:
+                    node.warning("Step is " + RunModel.statusName(step.getResult().getStatus()));
+            }
+            attach(node, step, screenshotPath);
+        }
+    }
+
+    private static void attach(ExtentTest test, RunModel.Step step, String screenshotPath) {
+        for (RunModel.Attachment attachment : step.getAttachments()) {
+            if (URI_LIST.equals(attachment.getMediaType())) {
+                // Links are relative to the Cucumber report; Spark lives elsewhere
+                String link = attachment.getBody().trim();
+                test.addScreenCaptureFromPath(screenshotPath + link.substring(link.lastIndexOf('/') + 1));
+            } else if (LOG_MEDIA_TYPE.equals(attachment.getMediaType())) {
+                test.info(attachment.getBody());
+            }
+        }
+    }
+
+    private static ExtentTest feature(ExtentReports extent, String name, String description) {
+        try {
+            return extent.createTest(new GherkinKeyword("Feature"), name, description);
+        } catch (ClassNotFoundException e) {
+            return extent.createTest(name, description);
+        }
+    }
+
+    // Spark shows Gherkin keywords as icons; a keyword it does not know is left out
+    private static ExtentTest node(ExtentTest parent, String keyword, String name) {
+        try {
+            return parent.createNode(new GherkinKeyword(keyword), name);
+        } catch (ClassNotFoundException | RuntimeException e) {
+            return parent.createNode(name);
+        }
+    }
+
+    private static Properties settings() throws IOException {
+        Properties settings = new Properties();
+        try (InputStream in = SparkWriter.class.getClassLoader().getResourceAsStream("extent.properties")) {
+            if (in != null) {
+                settings.load(in);
+            }
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,258 @@
+package com.myntra.rerun;
+
+import com.myntra.factory.MatrixCell;
+import com.myntra.utils.FrameworkConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.SkipException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Defers failed scenarios to a rerun pass at the end of the same run, where
+ * they execute again in this JVM with drivers already resolved (and pooled
+ * sessions still warm when driver.pool.enabled is set).
+ * A first-attempt failure is reported to TestNG as a skip; the rerun decides
+ * the scenario's final outcome, and the skipped attempt is then dropped
+ * from the TestNG results. Every attempt stays in the Cucumber event stream,
+ * where the reports pick up the attempt history.
+ */
+public final class ScenarioReruns {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioReruns.class);
+
+    private static final class Attempt {
+
+        private final int number;
+        private final String status;
+        private final long durationMillis;
+        private final String error;
+
+        private Attempt(int number, String status, long durationMillis, String error) {
+            this.number = number;
+            this.status = status;
+            this.durationMillis = durationMillis;
+            this.error = error;
+        }
+
+        int getNumber() {
+            return number;
+        }
+
+        String getStatus() {
+            return status;
+        }
+
+        long getDurationMillis() {
+            return durationMillis;
+        }
+
+        String getError() {
+            return error;
+        }
+    }
+
+    private static final class Failure {
+
+        private final Object[] scenario;
+        private final Throwable error;
+        private final ITestResult skippedResult;
+
+        private Failure(Object[] scenario, Throwable error, ITestResult skippedResult) {
+            this.scenario = scenario;
+            this.error = error;
+            this.skippedResult = skippedResult;
+        }
+
+        Object[] getScenario() {
+            return scenario;
+        }
+
+        Throwable getError() {
+            return error;
+        }
+
+        ITestResult getSkippedResult() {
+            return skippedResult;
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final int maxScenarios;
+    private final Path manifest;
+    private final Map<String, List<Attempt>> attempts = new ConcurrentHashMap<>();
+    private final Map<String, Failure> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public ScenarioReruns() {
+        this(null);
+    }
+
+    /**
+     * Reruns for one cell of a cross-browser matrix, with its own manifest
+     */
+    public ScenarioReruns(MatrixCell cell) {
+        FrameworkConfig config = FrameworkConfig.get();
+        this.enabled = config.isRerunEnabled();
+        this.maxAttempts = config.getRerunMaxAttempts();
+        this.maxScenarios = config.getRerunMaxScenarios();
+        this.manifest = cell == null ? config.getRerunManifest() : cell.qualify(config.getRerunManifest());
+    }
+
+    /**
+     * Runs the first attempt. A failure is queued for rerun and reported as
+     * a skip; skipped and pending scenarios are never rerun.
+     */
+    public void firstAttempt(String key, Object[] scenario, Runnable run) {
+        Throwable failure = attempt(key, 1, run);
+        if (failure == null) {
+            return;
+        }
+        if (!enabled || maxAttempts < 2) {
+            throw rethrow(failure);
+        }
+        failures.put(key, new Failure(scenario, failure, Reporter.getCurrentTestResult()));
+        throw new SkipException("Failed on attempt 1, queued for rerun: " + failure.getMessage());
+    }
+
+    /**
+     * Scenarios waiting for a rerun, in the order they failed. Writes the
+     * rerun manifest in Cucumber's rerun format ("file:line:line").
+     */
+    public Object[][] queued() {
+        List<String> keys;
+        synchronized (failures) {
+            keys = new ArrayList<>(failures.keySet());
+        }
+        writeManifest(keys);
+        if (!keys.isEmpty()) {
+            logger.info("Rerunning {} failed scenario(s) in this session: {}", keys.size(), keys);
+        }
+        return keys.stream().map(key -> failures.get(key).getScenario()).toArray(Object[][]::new);
+    }
+
+    /**
+     * Reruns a queued scenario until it passes or runs out of attempts. With
+     * more than rerun.max.scenarios failures (usually an outage) nothing is
+     * rerun and the original failures are reported.
+     */
+    public void rerun(String key, Runnable run) {
+        Failure failure = failures.get(key);
+        int failed = failures.size();
+        if (failed > maxScenarios) {
+            logger.warn("{} scenario(s) failed, more than rerun.max.scenarios={}; not rerunning {}",
+                    failed, maxScenarios, key);
+            dropSkippedAttempt(failure.getSkippedResult());
+            throw rethrow(failure.getError());
+        }
+
+        try {
+            Throwable last = failure.getError();
+            for (int number = 2; number <= maxAttempts; number++) {
+                last = attempt(key, number, run);
+                if (last == null) {
+                    logger.info("Scenario {} passed on attempt {}", key, number);
+                    return;
+                }
+            }
+            throw rethrow(last);
+        } finally {
+            dropSkippedAttempt(failure.getSkippedResult());
+        }
+    }
+
+    private Throwable attempt(String key, int number, Runnable run) {
+        long start = System.nanoTime();
+        try {
+            run.run();
+            record(key, number, "passed", start, null);
+            return null;
+        } catch (SkipException e) {
+            record(key, number, "skipped", start, e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            record(key, number, "failed", start, e);
+            return e;
+        }
+    }
+
+    private void record(String key, int number, String status, long startNanos, Throwable error) {
+        attempts.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()))
+                .add(new Attempt(number, status, (System.nanoTime() - startNanos) / 1_000_000,
+                        error == null ? null : String.valueOf(error.getMessage())));
+    }
+
+    // The final outcome replaces the skip that stood in for the first attempt
+    private static void dropSkippedAttempt(ITestResult skipped) {
+        if (skipped != null) {
+            skipped.getTestContext().getSkippedTests().removeResult(skipped);
+        }
+    }
+
+    /**
+     * Attempts per scenario key, for scenarios that ran more than once
+     */
+    private Map<String, List<Attempt>> rerunHistory() {
+        return attempts.entrySet().stream()
+                .filter(entry -> entry.getValue().size() > 1)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+    }
+
+    /**
+     * Rewrites the manifest with the scenarios that are still failing, after
+     * their reruns or because they were not rerun
+     */
+    public void finish() {
+        List<String> stillFailing;
+        synchronized (failures) {
+            stillFailing = failures.keySet().stream()
+                    .filter(key -> {
+                        List<Attempt> runs = attempts.getOrDefault(key, List.of());
+                        return runs.isEmpty() || "failed".equals(runs.get(runs.size() - 1).getStatus());
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        if (!failures.isEmpty()) {
+            writeManifest(stillFailing);
+            rerunHistory().forEach((key, runs) -> logger.info("{}: {}", key, runs.stream()
+                    .map(run -> "attempt " + run.getNumber() + " " + run.getStatus() + " (" + run.getDurationMillis() + " ms)")
+                    .collect(Collectors.joining(", "))));
+        }
+    }
+
+    private void writeManifest(List<String> keys) {
+        Map<String, StringBuilder> byFile = new LinkedHashMap<>();
+        for (String key : keys) {
+            int separator = key.lastIndexOf(':');
+            byFile.computeIfAbsent(key.substring(0, separator), StringBuilder::new).append(key.substring(separator));
+        }
+        try {
+            Files.createDirectories(manifest.toAbsolutePath().getParent());
+            Files.writeString(manifest, byFile.values().stream()
+                    .map(StringBuilder::toString)
+                    .collect(Collectors.joining("\n")), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Could not write rerun manifest {}: {}", manifest, e.getMessage());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return (RuntimeException) failure;
+    }
+}
@@ -0,0 +1,21 @@
+package com.myntra.runners;
+
+import com.myntra.pages.LocatorPreflight;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Runs the locator preflight once, before any suite starts a browser. With
+ * preflight.mode=fail a locator that matches nothing in its recorded page
+ * stops the run here instead of in a wait timeout mid-scenario.
+ * Registered through META-INF/services so it applies to every suite XML.
+ */
+public class LocatorPreflightListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        LocatorPreflight.run();
+    }
+}
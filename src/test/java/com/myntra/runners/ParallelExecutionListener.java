@@ -0,0 +1,41 @@
+package com.myntra.runners;
+
+import com.myntra.factory.BrowserScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sizes the scenario data provider pool from the browser scheduler limit,
+ * and lets every test of a parallel="tests" suite (the cells of a
+ * cross-browser matrix) start at once; the scheduler's per-browser limits
+ * then decide how many browsers each cell gets.
+ * Registered through META-INF/services so it applies to every suite XML.
+ */
+public class ParallelExecutionListener implements IAlterSuiteListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelExecutionListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = BrowserScheduler.getInstance().getLimit();
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(threads);
+            if (suite.getParallel() == XmlSuite.ParallelMode.TESTS
+                    && suite.getThreadCount() < suite.getTests().size()) {
+                suite.setThreadCount(suite.getTests().size());
+            }
+            logger.info("Suite '{}' will run up to {} scenario(s) in parallel", suite.getName(), threads);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        BrowserScheduler.getInstance().report();
+    }
+}
@@ -0,0 +1,95 @@
+package com.myntra.runners;
+
+import com.myntra.history.ScenarioHistory;
+import com.myntra.sharding.ReportMerger;
+import com.myntra.sharding.ScenarioCatalog;
+import com.myntra.sharding.ShardPlanner;
+import com.myntra.utils.ConfigReader;
+import com.myntra.utils.FrameworkConfig;
+import io.cucumber.testng.CucumberOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Restricts the run to one shard when shard.total is above 1. The shard plan
+ * is computed from the feature files and the scenario history, and Cucumber is
+ * pointed at the selected scenarios through the cucumber.features system
+ * property, which takes precedence over the runner annotation. Each shard
+ * writes its own event stream, which {@link ReportMerger} turns into the
+ * reports for all shards.
+ */
+public class ShardSelectionListener implements IAlterSuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardSelectionListener.class);
+    private static final String TAGS_PROPERTY = "cucumber.filter.tags";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        FrameworkConfig config = FrameworkConfig.get();
+        if (!config.isSharded()) {
+            return;
+        }
+        int index = config.getShardIndex();
+        int total = config.getShardTotal();
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (total - 1) + ", was " + index);
+        }
+
+        CucumberOptions options = TestRunner.class.getAnnotation(CucumberOptions.class);
+        String tags = tagExpression(suites, options);
+        List<ScenarioCatalog.Scenario> scenarios = ScenarioCatalog.discover(Arrays.asList(options.features()), tags);
+        List<ShardPlanner.Shard> plan = ShardPlanner.plan(scenarios, ScenarioHistory.load(), total);
+        plan.forEach(shard -> logger.info("Shard plan for {} scenario(s) matching '{}': {}", scenarios.size(), tags, shard));
+
+        ShardPlanner.Shard shard = plan.get(index);
+        if (shard.getScenarios().isEmpty()) {
+            logger.info("Shard {} of {} has no scenarios, nothing to run", index, total);
+            suites.forEach(suite -> suite.getTests().clear());
+            return;
+        }
+        System.setProperty("cucumber.features", featurePaths(shard));
+        ConfigReader.overrideProperty("report.stream.file", ReportMerger.shardReport(index, ".ndjson").toString());
+        logger.info("Running shard {} of {}: {} scenario(s)", index, total, shard.getScenarios().size());
+    }
+
+    /**
+     * Same precedence as Cucumber: system property, environment variable,
+     * TestNG parameter, then the runner annotation
+     */
+    private static String tagExpression(List<XmlSuite> suites, CucumberOptions options) {
+        String tags = System.getProperty(TAGS_PROPERTY);
+        if (tags == null) {
+            tags = System.getenv("CUCUMBER_FILTER_TAGS");
+        }
+        if (tags == null) {
+            tags = suites.stream()
+                    .flatMap(suite -> suite.getTests().stream())
+                    .map(XmlTest::getAllParameters)
+                    .map(parameters -> parameters.get(TAGS_PROPERTY))
+                    .filter(value -> value != null && !value.isBlank())
+                    .findFirst()
+                    .orElse(options.tags());
+        }
+        return tags;
+    }
+
+    // One "file:line:line" entry per feature, the form cucumber.features accepts
+    private static String featurePaths(ShardPlanner.Shard shard) {
+        Map<String, StringBuilder> byFile = new LinkedHashMap<>();
+        for (ScenarioCatalog.Scenario scenario : shard.getScenarios()) {
+            int separator = scenario.getKey().lastIndexOf(':');
+            byFile.computeIfAbsent(scenario.getKey().substring(0, separator), file -> new StringBuilder(file))
+                    .append(scenario.getKey().substring(separator));
+        }
+        return byFile.values().stream().map(StringBuilder::toString).collect(Collectors.joining(","));
+    }
+}
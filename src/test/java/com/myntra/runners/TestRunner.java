@@ -1,28 +1,174 @@
 package com.myntra.runners;
 
-import io.cucumber.testng.AbstractTestNGCucumberTests;
+import com.myntra.factory.BrowserScheduler;
+import com.myntra.factory.MatrixCell;
+import com.myntra.history.RunForecast;
+import com.myntra.history.ScenarioHistory;
+import com.myntra.history.ScenarioKey;
+import com.myntra.history.ScenarioOrder;
+import com.myntra.reporting.EventStreamPlugin;
+import com.myntra.reporting.ReportBuilder;
+import com.myntra.rerun.ScenarioReruns;
+import com.myntra.utils.FrameworkConfig;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlTest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @CucumberOptions(
         features = "src/test/resources/features",
         glue = {"com.myntra.stepdefinitions"},
         plugin = {
                 "pretty",
-                "html:target/cucumber-reports/cucumber.html",
-                "json:target/cucumber-reports/cucumber.json",
-                "junit:target/cucumber-reports/cucumber.xml",
-                "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"
+                "com.myntra.metrics.StepMetricsPlugin",
+                "com.myntra.history.ScenarioHistoryPlugin"
         },
         monochrome = true,
         dryRun = false,
         tags = "@E2ETest"
 )
-public class TestRunner extends AbstractTestNGCucumberTests {
+public class TestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestRunner.class);
+
+    private static final String PLUGIN_PROPERTY = "cucumber.plugin";
+
+    private TestNGCucumberRunner testNGCucumberRunner;
+    private ScenarioReruns reruns = new ScenarioReruns();
+    // Browser, launch profile and window from the <test> parameters, null for the configured ones
+    private MatrixCell cell;
+    // Set when the cell is one of several tests in the suite, which keep their outputs apart
+    private boolean matrix;
+    private Path eventStream;
+    private long startNanos;
+
+    /**
+     * Starts the Cucumber run for this &lt;test&gt;. The event stream is added
+     * as a plugin here rather than on the annotation, so that cells of a
+     * cross-browser matrix running side by side each get their own.
+     */
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        startNanos = System.nanoTime();
+        XmlTest test = context.getCurrentXmlTest();
+        cell = MatrixCell.fromParameters(test::getParameter);
+        matrix = cell != null && test.getSuite().getTests().size() > 1;
+        eventStream = matrix ? cell.qualify(EventStreamPlugin.file()) : EventStreamPlugin.file();
+        if (matrix) {
+            reruns = new ScenarioReruns(cell);
+            logger.info("Matrix cell '{}' runs {} with event stream {}", test.getName(), cell, eventStream);
+        }
+        testNGCucumberRunner = new TestNGCucumberRunner(getClass(), key -> {
+            String value = test.getParameter(key);
+            if (!key.equals(PLUGIN_PROPERTY)) {
+                return value;
+            }
+            String streamPlugin = EventStreamPlugin.class.getName() + ":" + eventStream;
+            return value == null || value.isBlank() ? streamPlugin : value + "," + streamPlugin;
+        });
+    }
+
+    /**
+     * First attempt of every scenario. With rerun.enabled a failure is
+     * reported as skipped until rerunScenario has decided the outcome.
+     */
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        Object[] scenario = {pickleWrapper, featureWrapper};
+        reruns.firstAttempt(key(scenario), scenario, () -> runInCell(pickleWrapper.getPickle()));
+    }
+
+    /**
+     * Reruns the scenarios that failed, after all first attempts, on the
+     * browsers and drivers this run already set up
+     */
+    @Test(groups = "cucumber", description = "Reruns failed Cucumber Scenarios", dataProvider = "failedScenarios",
+            dependsOnMethods = "runScenario", alwaysRun = true)
+    public void rerunScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        reruns.rerun(key(new Object[]{pickleWrapper, featureWrapper}), () -> runInCell(pickleWrapper.getPickle()));
+    }
 
-    @Override
-    @DataProvider(parallel = false)
+    // Hooks pick the browser for the scenario from the cell bound to its thread
+    private void runInCell(Pickle pickle) {
+        MatrixCell.bind(cell);
+        try {
+            testNGCucumberRunner.runScenario(pickle);
+        } finally {
+            MatrixCell.bind(null);
+        }
+    }
+
+    /**
+     * Scenarios always go through a parallel data provider; the thread count
+     * is set by ParallelExecutionListener (1 unless parallel.enabled is true).
+     * They are handed out in scenario.order, using the recorded history.
+     */
+    @DataProvider(parallel = true)
     public Object[][] scenarios() {
-        return super.scenarios();
+        if (testNGCucumberRunner == null) {
+            return new Object[0][0];
+        }
+        ScenarioHistory history = ScenarioHistory.load();
+        ScenarioOrder order = ScenarioOrder.configured();
+        List<Object[]> ordered = order.sort(Arrays.asList(testNGCucumberRunner.provideScenarios()),
+                TestRunner::key, history);
+
+        RunForecast forecast = RunForecast.of(ordered.stream().map(TestRunner::key).collect(Collectors.toList()),
+                history, BrowserScheduler.getInstance().getLimit());
+        RunForecast.publish(forecast);
+        logger.info("Running scenarios {}, forecast {}", order, forecast);
+        return ordered.toArray(new Object[0][]);
+    }
+
+    @DataProvider(parallel = true)
+    public Object[][] failedScenarios() {
+        return reruns.queued();
+    }
+
+    /**
+     * Finishes the Cucumber run, then builds the reports from its event
+     * stream, into a directory per cell for a cross-browser matrix. Shards
+     * leave that to ReportMerger, which builds them once for all shards.
+     */
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass(ITestContext context) {
+        if (testNGCucumberRunner == null) {
+            return;
+        }
+        testNGCucumberRunner.finish();
+        reruns.finish();
+        if (!FrameworkConfig.get().isSharded()
+                && FrameworkConfig.get().isReportBuildAfterRun()) {
+            if (matrix) {
+                ReportBuilder.build(List.of(eventStream), ReportBuilder.REPORT_DIR.resolve(cell.getName()),
+                        cell.getName());
+            } else {
+                ReportBuilder.build(List.of(eventStream), ReportBuilder.REPORT_DIR);
+            }
+        }
+        if (matrix) {
+            logger.info("Matrix cell {}: {} passed, {} failed, {} skipped in {} s", cell,
+                    context.getPassedTests().size(), context.getFailedTests().size(),
+                    context.getSkippedTests().size(), (System.nanoTime() - startNanos) / 1_000_000_000);
+        }
+    }
+
+    private static String key(Object[] scenario) {
+        Pickle pickle = ((PickleWrapper) scenario[0]).getPickle();
+        return ScenarioKey.of(pickle.getUri().toString(), pickle.getLine());
     }
-}
\ No newline at end of file
+}
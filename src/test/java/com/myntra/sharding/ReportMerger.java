@@ -0,0 +1,86 @@
+package com.myntra.sharding;
+
+import com.myntra.history.ScenarioHistory;
+import com.myntra.reporting.ReportBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds the reports of a sharded run from the per-shard event streams, as
+ * one unsharded run would have produced them.
+ * Usage: ReportMerger &lt;shard report dir&gt; &lt;output dir&gt; [--record-history]
+ * --record-history adds the merged scenario results to the local history,
+ * for reports collected from other machines.
+ */
+public final class ReportMerger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportMerger.class);
+
+    public static final Path REPORT_DIR = ReportBuilder.REPORT_DIR;
+    public static final Path SHARD_DIR = REPORT_DIR.resolve("shards");
+
+    private ReportMerger() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ReportMerger <shard report dir> <output dir> [--record-history]");
+            System.exit(2);
+        }
+        boolean recordHistory = args.length > 2 && args[2].equals("--record-history");
+        merge(Path.of(args[0]), Path.of(args[1]), recordHistory);
+    }
+
+    /**
+     * Builds the reports from every shard-*.ndjson in the directory
+     */
+    public static void merge(Path shardDir, Path outputDir, boolean recordHistory) {
+        List<Path> streams = shardReports(shardDir, ".ndjson");
+        ReportBuilder.build(streams, outputDir);
+        logger.info("Merged {} shard event stream(s) into {}", streams.size(), outputDir);
+        if (!recordHistory) {
+            return;
+        }
+        Path json = outputDir.resolve("cucumber.json");
+        if (!Files.isRegularFile(json)) {
+            logger.warn("No {} to record history from; report.formats must include json", json);
+            return;
+        }
+        try {
+            ScenarioHistory.append(ScenarioHistory.file(), ScenarioHistory.fromReport(json, System.currentTimeMillis()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record history from " + json, e);
+        }
+    }
+
+    /**
+     * Report path for one shard, e.g. shards/shard-2.json
+     */
+    public static Path shardReport(int index, String extension) {
+        return SHARD_DIR.resolve("shard-" + index + extension);
+    }
+
+    private static List<Path> shardReports(Path dir, String extension) {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith("shard-") && name.endsWith(extension);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list shard reports in " + dir, e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.myntra.sharding;
+
+import com.myntra.history.ScenarioKey;
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.resource.Resource;
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Enumerates the runnable scenarios under the feature directories the same
+ * way Cucumber does: one entry per Scenario and per Scenario Outline example
+ * row, filtered by the active tag expression. Each entry is identified by a
+ * "path/to/file.feature:line" key that Cucumber accepts as a feature path.
+ */
+public final class ScenarioCatalog {
+
+    private ScenarioCatalog() {
+    }
+
+    public static final class Scenario {
+
+        private final String key;
+        private final String name;
+
+        private Scenario(String key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static List<Scenario> discover(List<String> featureRoots, String tagExpression) {
+        Expression filter = tagExpression == null || tagExpression.isBlank()
+                ? tags -> true
+                : TagExpressionParser.parse(tagExpression);
+        FeatureParser parser = new FeatureParser(UUID::randomUUID);
+
+        List<Scenario> scenarios = new ArrayList<>();
+        for (Path file : featureFiles(featureRoots)) {
+            Optional<Feature> feature = parser.parseResource(new FileResource(file));
+            feature.ifPresent(parsed -> {
+                for (Pickle pickle : parsed.getPickles()) {
+                    if (filter.evaluate(pickle.getTags())) {
+                        scenarios.add(new Scenario(ScenarioKey.of(file, pickle.getLocation().getLine()), pickle.getName()));
+                    }
+                }
+            });
+        }
+        return scenarios;
+    }
+
+    private static List<Path> featureFiles(List<String> featureRoots) {
+        List<Path> files = new ArrayList<>();
+        for (String root : featureRoots) {
+            Path path = Paths.get(root);
+            if (Files.isRegularFile(path)) {
+                files.add(path);
+                continue;
+            }
+            try (Stream<Path> walk = Files.walk(path)) {
+                files.addAll(walk.filter(file -> file.toString().endsWith(".feature"))
+                        .sorted()
+                        .collect(Collectors.toList()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not list feature files under " + root, e);
+            }
+        }
+        return files;
+    }
+
+    private static final class FileResource implements Resource {
+        private final Path file;
+
+        private FileResource(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public URI getUri() {
+            return file.toAbsolutePath().toUri();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file);
+        }
+    }
+}
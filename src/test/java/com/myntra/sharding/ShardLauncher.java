@@ -0,0 +1,127 @@
+package com.myntra.sharding;
+
+import com.myntra.factory.BrowserScheduler;
+import com.myntra.utils.ConfigReader;
+import com.myntra.utils.FrameworkConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs every shard of the suite on this machine, each in its own JVM, then
+ * merges their reports. The host's browser limit is divided between the
+ * forks so they do not oversubscribe it together.
+ * Usage: ShardLauncher [forks] [-Dkey=value ...]
+ * Forks default to shard.total, or to the browser limit when that is 1.
+ * Configuration keys set as system properties are passed on to every fork.
+ */
+public final class ShardLauncher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardLauncher.class);
+
+    private ShardLauncher() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int forks = args.length > 0 ? Integer.parseInt(args[0]) : defaultForks();
+        List<String> extraArgs = args.length > 1 ? Arrays.asList(args).subList(1, args.length) : List.of();
+        System.exit(run(forks, extraArgs) ? 0 : 1);
+    }
+
+    private static int defaultForks() {
+        FrameworkConfig config = FrameworkConfig.get();
+        return config.isSharded() ? config.getShardTotal() : BrowserScheduler.getInstance().getLimit();
+    }
+
+    /**
+     * @return true when every shard passed
+     */
+    public static boolean run(int forks, List<String> extraArgs) throws InterruptedException {
+        clean(ReportMerger.SHARD_DIR);
+        int browsersPerFork = Math.max(1, BrowserScheduler.getInstance().getLimit() / forks);
+        String suiteXml = System.getProperty("suiteXmlFile", "testng.xml");
+        logger.info("Running {} with {} shard(s), up to {} browser(s) each", suiteXml, forks, browsersPerFork);
+
+        long start = System.nanoTime();
+        List<Process> processes = new ArrayList<>();
+        for (int index = 0; index < forks; index++) {
+            processes.add(start(index, forks, browsersPerFork, suiteXml, extraArgs));
+        }
+
+        boolean passed = true;
+        for (int index = 0; index < forks; index++) {
+            int exitCode = processes.get(index).waitFor();
+            passed &= exitCode == 0;
+            logger.info("Shard {} finished with exit code {}, log: {}", index, exitCode,
+                    ReportMerger.shardReport(index, ".log"));
+        }
+        logger.info("All {} shard(s) finished in {}s", forks, (System.nanoTime() - start) / 1_000_000_000);
+
+        // Each fork has already appended its scenarios to the local history
+        ReportMerger.merge(ReportMerger.SHARD_DIR, ReportMerger.REPORT_DIR, false);
+        return passed;
+    }
+
+    private static Process start(int index, int total, int browsers, String suiteXml, List<String> extraArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx1024m");
+        command.add("-XX:+UseG1GC");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        forwardedConfig().forEach(command::add);
+        command.add("-Dshard.index=" + index);
+        command.add("-Dshard.total=" + total);
+        command.add("-Dparallel.max.browsers=" + browsers);
+        // Per-fork outputs that would otherwise overwrite each other
+        command.add("-Dmetrics.dir=target/metrics/shard-" + index);
+        command.add("-Dparallel.utilization.file=target/parallel-utilization-shard-" + index + ".csv");
+        command.add("-Drerun.manifest=" + ReportMerger.shardReport(index, "-rerun.txt"));
+        command.addAll(extraArgs);
+        command.add("org.testng.TestNG");
+        command.add("-d");
+        command.add("test-output/shard-" + index);
+        command.add(suiteXml);
+
+        try {
+            return new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ReportMerger.shardReport(index, ".log").toFile())
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start shard " + index, e);
+        }
+    }
+
+    // System properties that override a configuration key, e.g. -Dbrowser=firefox
+    private static Stream<String> forwardedConfig() {
+        return System.getProperties().stringPropertyNames().stream()
+                .filter(key -> !key.startsWith("shard."))
+                .filter(key -> key.startsWith("cucumber.") || ConfigReader.getProperty(key, null) != null)
+                .sorted()
+                .map(key -> "-D" + key + "=" + System.getProperty(key));
+    }
+
+    private static void clean(Path dir) {
+        try {
+            if (Files.isDirectory(dir)) {
+                try (Stream<Path> files = Files.list(dir)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Files.delete(file);
+                    }
+                }
+            }
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare " + dir, e);
+        }
+    }
+}
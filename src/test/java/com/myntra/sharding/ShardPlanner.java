@@ -0,0 +1,76 @@
+package com.myntra.sharding;
+
+import com.myntra.history.ScenarioHistory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Splits scenarios into shards of roughly equal expected duration using the
+ * longest-processing-time-first heuristic: scenarios are taken longest first
+ * and each goes to the shard with the least work so far. The plan depends
+ * only on the scenario list and the recorded durations, so every machine
+ * computes the same split for the same index and total.
+ */
+public final class ShardPlanner {
+
+    private ShardPlanner() {
+    }
+
+    public static final class Shard {
+        private final int index;
+        private final List<ScenarioCatalog.Scenario> scenarios = new ArrayList<>();
+        private long estimatedMillis;
+
+        private Shard(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public List<ScenarioCatalog.Scenario> getScenarios() {
+            return Collections.unmodifiableList(scenarios);
+        }
+
+        public long getEstimatedMillis() {
+            return estimatedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("shard %d: %d scenario(s), ~%ds", index, scenarios.size(), estimatedMillis / 1000);
+        }
+    }
+
+    public static List<Shard> plan(List<ScenarioCatalog.Scenario> scenarios, ScenarioHistory history, int total) {
+        if (total < 1) {
+            throw new IllegalArgumentException("Shard total must be at least 1, was " + total);
+        }
+        List<ScenarioCatalog.Scenario> longestFirst = new ArrayList<>(scenarios);
+        // Ties broken by key so the order never depends on discovery order
+        longestFirst.sort(Comparator.comparingLong((ScenarioCatalog.Scenario scenario) -> history.estimate(scenario.getKey()))
+                .reversed()
+                .thenComparing(ScenarioCatalog.Scenario::getKey));
+
+        List<Shard> shards = new ArrayList<>();
+        PriorityQueue<Shard> lightest = new PriorityQueue<>(Comparator.comparingLong(Shard::getEstimatedMillis)
+                .thenComparingInt(Shard::getIndex));
+        for (int i = 0; i < total; i++) {
+            Shard shard = new Shard(i);
+            shards.add(shard);
+            lightest.add(shard);
+        }
+        for (ScenarioCatalog.Scenario scenario : longestFirst) {
+            Shard shard = lightest.poll();
+            shard.scenarios.add(scenario);
+            shard.estimatedMillis += history.estimate(scenario.getKey());
+            lightest.add(shard);
+        }
+        return shards;
+    }
+}
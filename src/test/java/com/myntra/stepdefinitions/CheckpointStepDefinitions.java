@@ -0,0 +1,72 @@
+package com.myntra.stepdefinitions;
+
+import com.myntra.checkpoint.CheckpointStore;
+import com.myntra.checkpoint.Fingerprint;
+import com.myntra.factory.DriverFactory;
+import com.myntra.factory.MatrixCell;
+import com.myntra.pages.*;
+import com.myntra.utils.FrameworkConfig;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Setup steps that start from a browser-state checkpoint when one is
+ * available, and otherwise run the UI flow once and capture it
+ */
+public class CheckpointStepDefinitions {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointStepDefinitions.class);
+
+    private Scenario scenario;
+
+    @Before
+    public void rememberScenario(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    @Given("User has {string} in the shopping bag")
+    public void user_has_product_in_the_shopping_bag(String product) {
+        HomePage homePage = new HomePage();
+        SearchResultsPage searchResultsPage = new SearchResultsPage();
+        ProductDetailsPage productDetailsPage = new ProductDetailsPage();
+        ShoppingBagPage shoppingBagPage = new ShoppingBagPage();
+
+        String name = "bag-has-one-item-" + product.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        // Any change to these step definitions or page objects invalidates the checkpoint
+        String fingerprint = Fingerprint.of(
+                List.of(product, FrameworkConfig.get().getBaseUrl(), MatrixCell.current().getBrowser()),
+                CheckpointStepDefinitions.class, BasePage.class);
+
+        long start = System.nanoTime();
+        boolean restored = CheckpointStore.getInstance().restoreOrBuild(name, fingerprint, DriverFactory.getDriver(),
+                () -> {
+                    homePage.searchProduct(product);
+                    Assert.assertTrue(searchResultsPage.areSearchResultsDisplayed(), "Search results are not displayed");
+                    searchResultsPage.clickFirstProduct();
+                    productDetailsPage.selectSize();
+                    productDetailsPage.addProductToBag();
+                    Assert.assertTrue(shoppingBagPage.isGoToBagButtonDisplayed(),
+                            "Go to Bag button is not displayed - Product not added");
+                    shoppingBagPage.navigateToShoppingBag();
+                },
+                () -> {
+                    shoppingBagPage.waitForPageReady();
+                    return shoppingBagPage.isProductInBag();
+                });
+
+        if (!restored) {
+            Assert.assertTrue(shoppingBagPage.isProductInBag(), "No products found in bag");
+        }
+        String message = String.format("Bag with '%s' %s in %d ms", product,
+                restored ? "restored from checkpoint" : "built through the UI", (System.nanoTime() - start) / 1_000_000);
+        scenario.log(message);
+        logger.info("✓ Step: {}", message);
+    }
+}
@@ -1,45 +1,137 @@
 package com.myntra.stepdefinitions;
 
+import com.myntra.checkpoint.CheckpointStore;
+import com.myntra.factory.BrowserScheduler;
 import com.myntra.factory.DriverFactory;
+import com.myntra.factory.MatrixCell;
+import com.myntra.factory.NetworkProfile;
+import com.myntra.factory.NetworkShaper;
+import com.myntra.factory.SessionFootprint;
+import com.myntra.logging.ScenarioLog;
+import com.myntra.metrics.MetricsExporter;
+import com.myntra.pages.ElementCacheStats;
+import com.myntra.pages.WindowManager;
+import com.myntra.replay.ReplayServer;
+import com.myntra.reporting.ScreenshotPipeline;
 import com.myntra.utils.ConfigReader;
+import com.myntra.utils.FrameworkConfig;
 import io.cucumber.java.*;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.SkipException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Hooks {
 
     private static final Logger logger = LoggerFactory.getLogger(Hooks.class);
+    // Cucumber runs of a cross-browser matrix run side by side and share these
+    private static final AtomicInteger activeRuns = new AtomicInteger();
+
     private DriverFactory driverFactory;
+    private String slotBrowser;
+    private long scenarioStart;
+
+    @BeforeAll
+    public static void beforeAll() {
+        if (activeRuns.getAndIncrement() > 0) {
+            return;
+        }
+        ReplayServer replayServer = ReplayServer.startIfEnabled();
+        if (replayServer != null) {
+            ConfigReader.overrideProperty("base.url", replayServer.getBaseUrl());
+        }
+    }
 
     @Before
     public void setUp(Scenario scenario) {
-        logger.info("=".repeat(80));
+        scenarioStart = System.nanoTime();
+        ScenarioLog.begin(scenario.getId(), scenario.getName());
         logger.info("Starting Scenario: {}", scenario.getName());
-        logger.info("=".repeat(80));
 
-        String browser = ConfigReader.getProperty("browser");
-        driverFactory = new DriverFactory();
-        driverFactory.initDriver(browser);
+        MatrixCell cell = MatrixCell.current();
+        if (scenario.getSourceTagNames().contains("@devtools") && !cell.isChromium()) {
+            // Skipped before a browser is started; e.g. Firefox in a cross-browser matrix
+            throw new SkipException("Scenario needs Chrome DevTools, not available on " + cell.getBrowser());
+        }
+        ElementCacheStats.resetScenario();
+        BrowserScheduler.getInstance().acquireSlot(cell.getBrowser());
+        slotBrowser = cell.getBrowser();
+        WebDriver driver;
+        try {
+            driverFactory = new DriverFactory();
+            driver = driverFactory.initDriver(cell);
+        } catch (RuntimeException e) {
+            // A failed launch or pool acquire must not keep the slot other scenarios wait for
+            releaseSlot();
+            throw e;
+        }
+
+        NetworkShaper.apply(driver, networkProfile(scenario));
+        NetworkShaper.resetStats(driver);
     }
 
+    /**
+     * Profile from a @network:&lt;name&gt; tag, else network.profile from config
+     */
+    private static NetworkProfile networkProfile(Scenario scenario) {
+        return NetworkProfile.named(scenario.getSourceTagNames().stream()
+                .filter(tag -> tag.startsWith("@network:"))
+                .map(tag -> tag.substring("@network:".length()))
+                .findFirst()
+                .orElse(FrameworkConfig.get().getNetworkProfile()));
+    }
+
+    /**
+     * Reports and quits the scenario's browser. The slot is released and the
+     * scenario log closed even when setUp failed before a driver existed.
+     */
     @After
     public void tearDown(Scenario scenario) {
-        if (scenario.isFailed()) {
-            logger.error("Scenario Failed: {}", scenario.getName());
-            byte[] screenshot = ((TakesScreenshot) DriverFactory.getDriver())
-                    .getScreenshotAs(OutputType.BYTES);
-            scenario.attach(screenshot, "image/png", scenario.getName());
-            logger.info("Screenshot captured for failed scenario");
+        try {
+            if (scenario.isFailed()) {
+                logger.error("Scenario Failed: {}", scenario.getName());
+            }
+            ScreenshotPipeline.getInstance().captureScenario(scenario, DriverFactory.getDriver());
+
+            NetworkShaper.Stats network = NetworkShaper.stats(DriverFactory.getDriver());
+            if (network.getBlockedRequests() > 0) {
+                logger.info("Network: {}", network);
+                scenario.log("Network: " + network);
+            }
+
+            ElementCacheStats.logScenario(scenario.getName());
+            WindowManager.endScenario(scenario.getName());
+
+            logger.info("Completing Scenario: {} ({})", scenario.getName(), scenario.getStatus());
+            DriverFactory.quitDriver();
+        } finally {
+            releaseSlot();
+            ScenarioLog.end(scenario.getName(), scenario.getStatus().name(), scenario.isFailed(),
+                    (System.nanoTime() - scenarioStart) / 1_000_000);
         }
+    }
 
-        logger.info("=".repeat(80));
-        logger.info("Scenario Status: {}", scenario.getStatus());
-        logger.info("Completing Scenario: {}", scenario.getName());
-        logger.info("=".repeat(80));
+    private void releaseSlot() {
+        if (slotBrowser != null) {
+            BrowserScheduler.getInstance().releaseSlot(slotBrowser);
+            slotBrowser = null;
+        }
+    }
 
-        DriverFactory.quitDriver();
+    @AfterAll
+    public static void afterAll() {
+        if (activeRuns.decrementAndGet() > 0) {
+            return;
+        }
+        ReplayServer.stopIfRunning();
+        ScreenshotPipeline.getInstance().flush();
+        ElementCacheStats.logTotals();
+        WindowManager.logTotals();
+        CheckpointStore.getInstance().logTotals();
+        SessionFootprint.getInstance().report();
+        MetricsExporter.export();
     }
 
     @BeforeStep
@@ -49,6 +141,6 @@ public class Hooks {
 
     @AfterStep
     public void afterStep(Scenario scenario) {
-        // Capture screenshot after each step (optional)
+        ScreenshotPipeline.getInstance().captureStep(scenario, DriverFactory.getDriver());
     }
 }
\ No newline at end of file
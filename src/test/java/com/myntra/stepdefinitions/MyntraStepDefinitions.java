@@ -8,6 +8,9 @@ import org.testng.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class MyntraStepDefinitions {
 
     private static final Logger logger = LoggerFactory.getLogger(MyntraStepDefinitions.class);
@@ -47,6 +50,36 @@ public class MyntraStepDefinitions {
         logger.info("✓ Step: User clicked on first product");
     }
 
+    @Then("Every product in the search results should cost at most {int}")
+    public void every_product_in_the_search_results_should_cost_at_most(int maxPrice) {
+        Assert.assertTrue(searchResultsPage.areSearchResultsDisplayed(),
+                "Search results are not displayed");
+        List<ProductCard> products = searchResultsPage.getProducts();
+        assertAtMost(products, maxPrice);
+        logger.info("✓ Step: All {} loaded products cost at most {}", products.size(), maxPrice);
+    }
+
+    @Then("The first {int} search results should cost at most {int}")
+    public void the_first_search_results_should_cost_at_most(int count, int maxPrice) {
+        Assert.assertTrue(searchResultsPage.areSearchResultsDisplayed(),
+                "Search results are not displayed");
+        List<ProductCard> products = searchResultsPage.streamProducts()
+                .limit(count)
+                .collect(Collectors.toList());
+        Assert.assertEquals(products.size(), count, "Listing ended before " + count + " products");
+        assertAtMost(products, maxPrice);
+        logger.info("✓ Step: First {} products cost at most {}", count, maxPrice);
+    }
+
+    private static void assertAtMost(List<ProductCard> products, int maxPrice) {
+        Assert.assertFalse(products.isEmpty(), "No products found in search results");
+        List<ProductCard> overPriced = products.stream()
+                .filter(product -> product.getPrice() > maxPrice)
+                .collect(Collectors.toList());
+        Assert.assertTrue(overPriced.isEmpty(), overPriced.size() + " product(s) cost more than " + maxPrice
+                + ":\n" + overPriced.stream().map(ProductCard::toString).collect(Collectors.joining("\n")));
+    }
+
     @When("User selects a product size")
     public void user_selects_a_product_size() {
         productDetailsPage.selectSize();
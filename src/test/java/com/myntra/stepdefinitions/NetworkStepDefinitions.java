@@ -0,0 +1,93 @@
+package com.myntra.stepdefinitions;
+
+import com.myntra.factory.DriverFactory;
+import com.myntra.factory.NetworkShaper;
+import com.myntra.pages.SearchResultsPage;
+import com.myntra.replay.FixtureServer;
+import io.cucumber.java.After;
+import io.cucumber.java.en.*;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Offline checks for network profiles against the local fixture site
+ */
+public class NetworkStepDefinitions {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkStepDefinitions.class);
+
+    private FixtureServer fixtureServer;
+
+    @Given("The network fixture server is running")
+    public void the_network_fixture_server_is_running() {
+        fixtureServer = FixtureServer.start(Paths.get("src/test/resources/fixtures/network"));
+    }
+
+    @Given("The search results page object is created")
+    public void the_search_results_page_object_is_created() {
+        // SearchResultsPage declares the no-tracking profile
+        new SearchResultsPage();
+    }
+
+    @When("User opens the network fixture page")
+    public void user_opens_the_network_fixture_page() {
+        WebDriver driver = DriverFactory.getDriver();
+        driver.get(fixtureServer.getBaseUrl() + "/index.html");
+        // The font is only requested once layout needs it, so wait for font loading to settle too
+        new WebDriverWait(driver, Duration.ofSeconds(10)).until(d -> Boolean.TRUE.equals(((JavascriptExecutor) d)
+                .executeScript("return document.readyState === 'complete' && document.fonts.status === 'loaded'")));
+        logger.info("✓ Step: Opened fixture page, {}", NetworkShaper.stats(driver));
+    }
+
+    @Then("The fixture server should not have served images, fonts or trackers")
+    public void the_fixture_server_should_not_have_served_blocked_assets() {
+        Assert.assertEquals(fixtureServer.requestCountUnder("/img/"), 0, "Images reached the server");
+        Assert.assertEquals(fixtureServer.requestCountUnder("/fonts/"), 0, "Fonts reached the server");
+        Assert.assertEquals(fixtureServer.requestCountUnder("/analytics/"), 0, "Tracker reached the server");
+    }
+
+    @Then("The fixture server should not have served trackers")
+    public void the_fixture_server_should_not_have_served_trackers() {
+        Assert.assertEquals(fixtureServer.requestCountUnder("/analytics/"), 0, "Tracker reached the server");
+    }
+
+    @Then("The fixture server should have served images")
+    public void the_fixture_server_should_have_served_images() {
+        Assert.assertEquals(fixtureServer.requestCountUnder("/img/"), 3, "Images were not served");
+    }
+
+    @Then("The fixture server should have served the page and its stylesheet")
+    public void the_fixture_server_should_have_served_the_page_and_stylesheet() {
+        Assert.assertEquals(fixtureServer.requestCount("/index.html"), 1, "Page was not served");
+        Assert.assertEquals(fixtureServer.requestCount("/style.css"), 1, "Stylesheet was not served");
+    }
+
+    @Then("{int} requests should be reported as blocked")
+    public void requests_should_be_reported_as_blocked(int expected) {
+        WebDriver driver = DriverFactory.getDriver();
+        try {
+            // Counters are updated from the DevTools event thread
+            new WebDriverWait(driver, Duration.ofSeconds(5))
+                    .until(d -> NetworkShaper.stats(d).getBlockedRequests() >= expected);
+        } catch (TimeoutException e) {
+            // Asserted below with the actual numbers
+        }
+        NetworkShaper.Stats stats = NetworkShaper.stats(driver);
+        Assert.assertEquals(stats.getBlockedRequests(), expected, "Blocked requests: " + stats);
+    }
+
+    @After("@NetworkShaping")
+    public void stopFixtureServer() {
+        if (fixtureServer != null) {
+            fixtureServer.close();
+        }
+    }
+}
@@ -5,27 +5,77 @@ import org.slf4j.LoggerFactory;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
 import java.util.Properties;
 
+/**
+ * Layered string configuration. Later layers win:
+ * 1. config.properties (defaults, and the catalogue of known keys)
+ * 2. config-&lt;environment&gt;.properties, when present
+ * 3. environment variables, e.g. MYNTRA_EXPLICIT_WAIT for explicit.wait
+ * 4. system properties, e.g. -Dexplicit.wait=20
+ * 5. runtime overrides from {@link #overrideProperty}
+ *
+ * Typed values for timeouts, polling and concurrency are read through
+ * {@link FrameworkConfig} instead.
+ */
 public class ConfigReader {
 
     private static final Logger logger = LoggerFactory.getLogger(ConfigReader.class);
-    private static Properties properties;
+    private static final Path CONFIG_DIR = Paths.get("src/test/resources/config");
+    private static final String ENV_PREFIX = "MYNTRA_";
+    private static final Properties properties = new Properties();
 
     static {
-        try {
-            String configPath = "src/test/resources/config/config.properties";
-            FileInputStream fis = new FileInputStream(configPath);
-            properties = new Properties();
-            properties.load(fis);
-            fis.close();
-            logger.info("Configuration loaded successfully from: {}", configPath);
+        Properties defaults = load(CONFIG_DIR.resolve("config.properties"));
+        properties.putAll(defaults);
+
+        String environment = external("environment");
+        if (environment == null) {
+            environment = defaults.getProperty("environment", "");
+        }
+        Path profile = CONFIG_DIR.resolve("config-" + environment.toLowerCase(Locale.ROOT) + ".properties");
+        if (!environment.isEmpty() && Files.exists(profile)) {
+            properties.putAll(load(profile));
+        }
+
+        // Only keys declared in the files can be overridden from outside
+        for (String key : properties.stringPropertyNames()) {
+            String value = external(key);
+            if (value != null) {
+                properties.setProperty(key, value);
+            }
+        }
+        properties.setProperty("environment", environment);
+        logger.info("Configuration loaded for environment '{}'", environment);
+    }
+
+    private static Properties load(Path path) {
+        Properties layer = new Properties();
+        try (FileInputStream fis = new FileInputStream(path.toFile())) {
+            layer.load(fis);
+            logger.info("Configuration loaded successfully from: {}", path);
+            return layer;
         } catch (IOException e) {
             logger.error("Failed to load configuration file", e);
             throw new RuntimeException("Configuration file not found: " + e.getMessage());
         }
     }
 
+    /**
+     * System property first, then the MYNTRA_ environment variable for the key
+     */
+    private static String external(String key) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_'));
+        }
+        return value;
+    }
+
     public static String getProperty(String key) {
         String value = properties.getProperty(key);
         if (value == null) {
@@ -37,4 +87,13 @@ public class ConfigReader {
     public static String getProperty(String key, String defaultValue) {
         return properties.getProperty(key, defaultValue);
     }
+
+    /**
+     * Replaces a value for the rest of the run, e.g. pointing base.url at the replay server
+     */
+    public static void overrideProperty(String key, String value) {
+        logger.info("Overriding property '{}' with: {}", key, value);
+        properties.setProperty(key, value);
+        FrameworkConfig.reload();
+    }
 }
@@ -0,0 +1,599 @@
+package com.myntra.utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, typed view of the settings in {@link ConfigReader}. Values are
+ * parsed once, so hot paths read a field instead of parsing a string-keyed
+ * property on every call. A runtime override replaces the whole snapshot.
+ * Open-ended key families such as launch.profiles.* and network.profiles.*
+ * are still read from ConfigReader by the classes that own them.
+ */
+public final class FrameworkConfig {
+
+    private static volatile FrameworkConfig current = new FrameworkConfig();
+
+    private final String environment;
+    private final String baseUrl;
+    private final String browser;
+
+    // Browser launch
+    private final String launchProfile;
+    private final boolean headless;
+    private final String driverResolution;
+    private final Path driverCacheDir;
+    private final Path footprintFile;
+    private final String windowMode;
+    private final boolean closeOpener;
+    private final String networkProfile;
+
+    // Element lookups and waits
+    private final boolean implicitLookups;
+    private final Duration implicitWait;
+    private final Duration explicitWait;
+    private final Duration pageLoadTimeout;
+    private final PageLoadStrategy pageLoadStrategy;
+    private final Duration quickCheck;
+    private final Duration lookupPoll;
+
+    // Readiness polling
+    private final Duration readinessTimeout;
+    private final Duration readinessPollInitial;
+    private final Duration readinessPollMax;
+    private final double readinessPollBackoff;
+    private final Duration readinessQuietPeriod;
+    private final Duration listingMoreTimeout;
+
+    // Session pool
+    private final boolean poolEnabled;
+    private final int poolMaxSessions;
+    private final Duration poolMaxSessionAge;
+    private final int poolMaxScenariosPerSession;
+    private final Duration poolAcquireTimeout;
+
+    // Parallel execution
+    private final boolean parallelEnabled;
+    private final double cpusPerBrowser;
+    private final long memoryPerBrowserMb;
+    private final int maxBrowsers;
+    private final Map<String, Integer> maxBrowsersByType = new LinkedHashMap<>();
+    private final Path utilizationFile;
+
+    // Reruns, checkpoints and scenario history
+    private final boolean rerunEnabled;
+    private final int rerunMaxAttempts;
+    private final int rerunMaxScenarios;
+    private final Path rerunManifest;
+    private final boolean checkpointEnabled;
+    private final Path checkpointDir;
+    private final Duration checkpointTtl;
+    private final Path historyDir;
+    private final int historyMaxRuns;
+    private final int historyWindow;
+    private final String scenarioOrder;
+
+    // Locator preflight
+    private final String preflightMode;
+    private final Duration preflightSlow;
+    private final Set<String> preflightSkip;
+    private final Path preflightReportFile;
+
+    // Screenshots, reports and metrics
+    private final Path screenshotDir;
+    private final String screenshotLinkPrefix;
+    private final long screenshotBudgetBytes;
+    private final int screenshotMaxWidth;
+    private final float screenshotQuality;
+    private final boolean screenshotOnFailure;
+    private final boolean screenshotOnSuccess;
+    private final String screenshotStepMode;
+    private final Set<String> reportFormats;
+    private final Path reportStreamFile;
+    private final boolean reportBuildAfterRun;
+    private final Path metricsDir;
+
+    // Sharding
+    private final int shardIndex;
+    private final int shardTotal;
+
+    // Replay server
+    private final String replayMode;
+    private final String replayUpstream;
+    private final Set<String> replayAssetHosts;
+    private final Path replayDir;
+    private final int replayPort;
+    private final Duration replayConnectTimeout;
+    private final Duration replayRequestTimeout;
+
+    private FrameworkConfig() {
+        this.environment = ConfigReader.getProperty("environment", "");
+        this.baseUrl = string("base.url", "");
+        this.browser = string("browser", "chrome");
+
+        this.launchProfile = string("launch.profile", "default");
+        this.headless = booleanValue("headless", false);
+        this.driverResolution = string("driver.resolution", "webdrivermanager").toLowerCase(Locale.ROOT);
+        String cacheDir = string("driver.cache.dir", "");
+        this.driverCacheDir = cacheDir.isEmpty()
+                ? Path.of(System.getProperty("user.home"), ".cache", "selenium") : Path.of(cacheDir);
+        this.footprintFile = Path.of(string("launch.footprint.file", "target/browser-footprint.csv"));
+        this.windowMode = string("window.mode", "new-window").toLowerCase(Locale.ROOT);
+        this.closeOpener = booleanValue("window.close.opener", true);
+        this.networkProfile = string("network.profile", "none");
+
+        this.implicitLookups = "implicit".equals(string("lookup.mode", "explicit").toLowerCase(Locale.ROOT));
+        this.implicitWait = Duration.ofSeconds(longValue("implicit.wait", 15));
+        this.explicitWait = Duration.ofSeconds(longValue("explicit.wait", 30));
+        this.pageLoadTimeout = Duration.ofSeconds(longValue("page.load.timeout", 60));
+        this.pageLoadStrategy = PageLoadStrategy.valueOf(string("page.load.strategy", "normal").toUpperCase(Locale.ROOT));
+        this.quickCheck = Duration.ofMillis(longValue("lookup.quick.check.ms", 2000));
+        this.lookupPoll = Duration.ofMillis(longValue("lookup.poll.ms", 100));
+
+        this.readinessTimeout = Duration.ofSeconds(longValue("readiness.timeout", 15));
+        this.readinessPollInitial = Duration.ofMillis(longValue("readiness.poll.initial.ms", 50));
+        this.readinessPollMax = Duration.ofMillis(longValue("readiness.poll.max.ms", 500));
+        this.readinessPollBackoff = doubleValue("readiness.poll.backoff", 1.5);
+        this.readinessQuietPeriod = Duration.ofMillis(longValue("readiness.quiet.ms", 300));
+        this.listingMoreTimeout = Duration.ofMillis(longValue("listing.more.timeout.ms", 5000));
+
+        this.poolEnabled = booleanValue("driver.pool.enabled", false);
+        this.poolMaxSessions = intValue("driver.pool.max.sessions", 4);
+        this.poolMaxSessionAge = Duration.ofMinutes(longValue("driver.pool.max.session.age.minutes", 30));
+        this.poolMaxScenariosPerSession = intValue("driver.pool.max.scenarios.per.session", 25);
+        this.poolAcquireTimeout = Duration.ofSeconds(longValue("driver.pool.acquire.timeout", 120));
+
+        this.parallelEnabled = booleanValue("parallel.enabled", false);
+        this.cpusPerBrowser = doubleValue("parallel.cpus.per.browser", 1.0);
+        this.memoryPerBrowserMb = longValue("parallel.memory.per.browser.mb", 700);
+        this.maxBrowsers = intValue("parallel.max.browsers", 0);
+        for (String browser : new String[]{"chrome", "firefox", "edge"}) {
+            maxBrowsersByType.put(browser, intValue("parallel.max.browsers." + browser, 0));
+        }
+        this.utilizationFile = Path.of(string("parallel.utilization.file", "target/parallel-utilization.csv"));
+
+        this.rerunEnabled = booleanValue("rerun.enabled", false);
+        this.rerunMaxAttempts = intValue("rerun.max.attempts", 2);
+        this.rerunMaxScenarios = intValue("rerun.max.scenarios", 10);
+        this.rerunManifest = Path.of(string("rerun.manifest", "target/cucumber-reports/rerun.txt"));
+        this.checkpointEnabled = booleanValue("checkpoint.enabled", true);
+        this.checkpointDir = Path.of(string("checkpoint.dir", "target/checkpoints"));
+        this.checkpointTtl = Duration.ofMinutes(longValue("checkpoint.ttl.minutes", 30));
+        this.historyDir = Path.of(string("history.dir", "target/scenario-history"));
+        this.historyMaxRuns = intValue("history.max.runs", 20);
+        this.historyWindow = intValue("history.window", 5);
+        this.scenarioOrder = string("scenario.order", "file");
+
+        this.preflightMode = string("preflight.mode", "report");
+        this.preflightSlow = Duration.ofMillis(longValue("preflight.slow.ms", 20));
+        this.preflightSkip = list("preflight.skip");
+        this.preflightReportFile = Path.of(string("preflight.report.file", "target/locator-preflight.csv"));
+
+        this.screenshotDir = Path.of(string("screenshot.dir", "test-output/screenshots"));
+        this.screenshotLinkPrefix = string("screenshot.link.prefix", "../../test-output/screenshots/");
+        this.screenshotBudgetBytes = longValue("screenshot.budget.mb", 50) * 1024 * 1024;
+        this.screenshotMaxWidth = intValue("screenshot.max.width", 1280);
+        this.screenshotQuality = (float) doubleValue("screenshot.jpeg.quality", 0.7);
+        this.screenshotOnFailure = booleanValue("screenshot.on.failure", true);
+        this.screenshotOnSuccess = booleanValue("screenshot.on.success", false);
+        this.screenshotStepMode = string("screenshot.step.mode", "off");
+        this.reportFormats = list("report.formats", "html,json,junit,spark").stream()
+                .map(format -> format.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.reportStreamFile = Path.of(string("report.stream.file", "target/cucumber-reports/events.ndjson"));
+        this.reportBuildAfterRun = booleanValue("report.build.after.run", true);
+        this.metricsDir = Path.of(string("metrics.dir", "target/metrics"));
+
+        this.shardIndex = intValue("shard.index", 0);
+        this.shardTotal = intValue("shard.total", 1);
+
+        this.replayMode = string("replay.mode", "off");
+        this.replayUpstream = string("replay.upstream", "https://www.myntra.com");
+        this.replayAssetHosts = list("replay.asset.hosts");
+        this.replayDir = Path.of(string("replay.dir", "src/test/resources/recordings"));
+        this.replayPort = intValue("replay.port", 0);
+        this.replayConnectTimeout = Duration.ofSeconds(longValue("replay.connect.timeout", 30));
+        this.replayRequestTimeout = Duration.ofSeconds(longValue("replay.request.timeout", 60));
+    }
+
+    public static FrameworkConfig get() {
+        return current;
+    }
+
+    /**
+     * Re-resolves the snapshot after a runtime override
+     */
+    static void reload() {
+        current = new FrameworkConfig();
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public String getLaunchProfile() {
+        return launchProfile;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * webdrivermanager, selenium-manager or offline
+     */
+    public String getDriverResolution() {
+        return driverResolution;
+    }
+
+    /**
+     * Shared driver cache directory, WebDriverManager's own default when not configured
+     */
+    public Path getDriverCacheDir() {
+        return driverCacheDir;
+    }
+
+    public Path getFootprintFile() {
+        return footprintFile;
+    }
+
+    /**
+     * new-window or same-tab
+     */
+    public String getWindowMode() {
+        return windowMode;
+    }
+
+    public boolean isCloseOpener() {
+        return closeOpener;
+    }
+
+    /**
+     * Network profile applied to scenarios without a @network: tag
+     */
+    public String getNetworkProfile() {
+        return networkProfile;
+    }
+
+    public boolean isImplicitLookups() {
+        return implicitLookups;
+    }
+
+    /**
+     * Implicit wait applied to every session: zero unless lookup.mode is "implicit"
+     */
+    public Duration getImplicitWait() {
+        return implicitLookups ? implicitWait : Duration.ZERO;
+    }
+
+    public Duration getExplicitWait() {
+        return explicitWait;
+    }
+
+    public Duration getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+
+    /**
+     * normal waits for every subresource on navigation; eager returns once the
+     * DOM is parsed and none returns immediately, leaving page objects to wait
+     * for their own readiness predicates
+     */
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    public boolean isEagerNavigation() {
+        return pageLoadStrategy != PageLoadStrategy.NORMAL;
+    }
+
+    public Duration getQuickCheck() {
+        return quickCheck;
+    }
+
+    public Duration getLookupPoll() {
+        return lookupPoll;
+    }
+
+    public Duration getReadinessTimeout() {
+        return readinessTimeout;
+    }
+
+    public Duration getReadinessPollInitial() {
+        return readinessPollInitial;
+    }
+
+    public Duration getReadinessPollMax() {
+        return readinessPollMax;
+    }
+
+    public double getReadinessPollBackoff() {
+        return readinessPollBackoff;
+    }
+
+    /**
+     * How long the DOM or network must stay idle to count as settled
+     */
+    public Duration getReadinessQuietPeriod() {
+        return readinessQuietPeriod;
+    }
+
+    /**
+     * How long a listing may take to load further tiles after a scroll
+     */
+    public Duration getListingMoreTimeout() {
+        return listingMoreTimeout;
+    }
+
+    public boolean isPoolEnabled() {
+        return poolEnabled;
+    }
+
+    public int getPoolMaxSessions() {
+        return poolMaxSessions;
+    }
+
+    public Duration getPoolMaxSessionAge() {
+        return poolMaxSessionAge;
+    }
+
+    public int getPoolMaxScenariosPerSession() {
+        return poolMaxScenariosPerSession;
+    }
+
+    public Duration getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+
+    public boolean isParallelEnabled() {
+        return parallelEnabled;
+    }
+
+    public double getCpusPerBrowser() {
+        return cpusPerBrowser;
+    }
+
+    public long getMemoryPerBrowserMb() {
+        return memoryPerBrowserMb;
+    }
+
+    /**
+     * Upper bound on concurrent browsers, 0 for no cap beyond CPU and memory
+     */
+    public int getMaxBrowsers() {
+        return maxBrowsers;
+    }
+
+    /**
+     * Upper bound on concurrent browsers of one type, 0 for no cap beyond getMaxBrowsers
+     */
+    public int getMaxBrowsers(String browser) {
+        return maxBrowsersByType.getOrDefault(browser.toLowerCase(Locale.ROOT), 0);
+    }
+
+    public Path getUtilizationFile() {
+        return utilizationFile;
+    }
+
+    public boolean isRerunEnabled() {
+        return rerunEnabled;
+    }
+
+    public int getRerunMaxAttempts() {
+        return rerunMaxAttempts;
+    }
+
+    /**
+     * Above this many failed scenarios a run is not rerun at all
+     */
+    public int getRerunMaxScenarios() {
+        return rerunMaxScenarios;
+    }
+
+    public Path getRerunManifest() {
+        return rerunManifest;
+    }
+
+    public boolean isCheckpointEnabled() {
+        return checkpointEnabled;
+    }
+
+    public Path getCheckpointDir() {
+        return checkpointDir;
+    }
+
+    public Duration getCheckpointTtl() {
+        return checkpointTtl;
+    }
+
+    public Path getHistoryDir() {
+        return historyDir;
+    }
+
+    public int getHistoryMaxRuns() {
+        return historyMaxRuns;
+    }
+
+    /**
+     * Number of recent passing runs a duration estimate is taken over
+     */
+    public int getHistoryWindow() {
+        return historyWindow;
+    }
+
+    /**
+     * file, longest-first or failed-first
+     */
+    public String getScenarioOrder() {
+        return scenarioOrder;
+    }
+
+    /**
+     * off, report or fail
+     */
+    public String getPreflightMode() {
+        return preflightMode;
+    }
+
+    public Duration getPreflightSlow() {
+        return preflightSlow;
+    }
+
+    public Set<String> getPreflightSkip() {
+        return preflightSkip;
+    }
+
+    public Path getPreflightReportFile() {
+        return preflightReportFile;
+    }
+
+    public Path getScreenshotDir() {
+        return screenshotDir;
+    }
+
+    public String getScreenshotLinkPrefix() {
+        return screenshotLinkPrefix;
+    }
+
+    public long getScreenshotBudgetBytes() {
+        return screenshotBudgetBytes;
+    }
+
+    public int getScreenshotMaxWidth() {
+        return screenshotMaxWidth;
+    }
+
+    public float getScreenshotQuality() {
+        return screenshotQuality;
+    }
+
+    public boolean isScreenshotOnFailure() {
+        return screenshotOnFailure;
+    }
+
+    public boolean isScreenshotOnSuccess() {
+        return screenshotOnSuccess;
+    }
+
+    /**
+     * off, failed-step or every-step
+     */
+    public String getScreenshotStepMode() {
+        return screenshotStepMode;
+    }
+
+    public Set<String> getReportFormats() {
+        return reportFormats;
+    }
+
+    public Path getReportStreamFile() {
+        return reportStreamFile;
+    }
+
+    public boolean isReportBuildAfterRun() {
+        return reportBuildAfterRun;
+    }
+
+    public Path getMetricsDir() {
+        return metricsDir;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * Number of shards the scenarios are split into, 1 when sharding is off
+     */
+    public int getShardTotal() {
+        return shardTotal;
+    }
+
+    public boolean isSharded() {
+        return shardTotal > 1;
+    }
+
+    /**
+     * off, replay or record
+     */
+    public String getReplayMode() {
+        return replayMode;
+    }
+
+    public String getReplayUpstream() {
+        return replayUpstream;
+    }
+
+    public Set<String> getReplayAssetHosts() {
+        return replayAssetHosts;
+    }
+
+    public Path getReplayDir() {
+        return replayDir;
+    }
+
+    /**
+     * Port the replay server listens on, 0 for any free port
+     */
+    public int getReplayPort() {
+        return replayPort;
+    }
+
+    public Duration getReplayConnectTimeout() {
+        return replayConnectTimeout;
+    }
+
+    public Duration getReplayRequestTimeout() {
+        return replayRequestTimeout;
+    }
+
+    private static String string(String key, String defaultValue) {
+        return ConfigReader.getProperty(key, defaultValue).trim();
+    }
+
+    /**
+     * Comma-separated values, trimmed, without blanks
+     */
+    private static Set<String> list(String key, String defaultValue) {
+        return Arrays.stream(string(key, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static Set<String> list(String key) {
+        return list(key, "");
+    }
+
+    private static long longValue(String key, long defaultValue) {
+        return Long.parseLong(string(key, String.valueOf(defaultValue)));
+    }
+
+    private static int intValue(String key, int defaultValue) {
+        return Integer.parseInt(string(key, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleValue(String key, double defaultValue) {
+        return Double.parseDouble(string(key, String.valueOf(defaultValue)));
+    }
+
+    private static boolean booleanValue(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(string(key, String.valueOf(defaultValue)));
+    }
+}
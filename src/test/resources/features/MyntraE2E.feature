@@ -29,4 +29,10 @@ Feature: Myntra E-commerce End-to-End User Journey
     Examples:
       | product                                  |
       | best formal shoes for men under 1500    |
-      | casual shirts for men                    |
\ No newline at end of file
+      | casual shirts for men                    |
+
+  @Checkpoint
+  Scenario: Place order from a bag restored from a checkpoint
+    Given User has "best formal shoes for men under 1500" in the shopping bag
+    When User clicks on place order button
+    Then User should be navigated to checkout page
@@ -0,0 +1,32 @@
+@NetworkShaping @devtools
+Feature: Network profiles block requests that assertions never need
+  As a framework maintainer
+  I want images, fonts and trackers blocked through DevTools
+  So that scenarios spend less time and bandwidth on every page
+
+  # Runs fully offline against src/test/resources/fixtures/network:
+  # mvn clean test -Dcucumber.filter.tags=@NetworkShaping
+
+  @network:lean
+  Scenario: Lean profile blocks images, fonts and trackers on the fixture page
+    Given The network fixture server is running
+    When User opens the network fixture page
+    Then The fixture server should not have served images, fonts or trackers
+    And The fixture server should have served the page and its stylesheet
+    And 5 requests should be reported as blocked
+
+  @network:none
+  Scenario: Without a profile every fixture asset is fetched
+    Given The network fixture server is running
+    When User opens the network fixture page
+    Then The fixture server should have served the page and its stylesheet
+    And 0 requests should be reported as blocked
+
+  @network:none
+  Scenario: A page object switches the session to the profile it declares
+    Given The network fixture server is running
+    And The search results page object is created
+    When User opens the network fixture page
+    Then The fixture server should not have served trackers
+    And The fixture server should have served images
+    And 1 requests should be reported as blocked
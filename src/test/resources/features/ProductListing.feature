@@ -0,0 +1,18 @@
+@Listing
+Feature: Search results listing
+  As a user of Myntra
+  I want search results to respect the price I searched for
+  So that I only browse products I can afford
+
+  # mvn clean test -Dcucumber.filter.tags=@Listing
+
+  Background:
+    Given User navigates to Myntra homepage
+
+  Scenario: Loaded search results stay within the searched price
+    When User searches for "formal shoes for men under 1500"
+    Then Every product in the search results should cost at most 1500
+
+  Scenario: Results further down the listing stay within the searched price
+    When User searches for "formal shoes for men under 1500"
+    Then The first 100 search results should cost at most 1500
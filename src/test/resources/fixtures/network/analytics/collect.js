@@ -0,0 +1,2 @@
+// Stand-in for a third-party analytics beacon
+window.__fixtureAnalyticsLoaded = true;
@@ -0,0 +1,19 @@
+// Shared helpers prepended to the page scripts run by BasePage.
+
+function find(kind, selector) {
+    if (kind === 'xpath') {
+        var result = document.evaluate(selector, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+        var nodes = [];
+        for (var i = 0; i < result.snapshotLength; i++) {
+            nodes.push(result.snapshotItem(i));
+        }
+        return nodes;
+    }
+    return Array.prototype.slice.call(document.querySelectorAll(selector));
+}
+
+function isVisible(element) {
+    var style = window.getComputedStyle(element);
+    return style.visibility !== 'hidden' && style.display !== 'none'
+        && (element.offsetWidth > 0 || element.offsetHeight > 0 || element.getClientRects().length > 0);
+}
@@ -0,0 +1,25 @@
+// Batched DOM snapshot used by BasePage.snapshot.
+// arguments[0]: list of [key, kind, selector]; arguments[1]: attribute names to read.
+var attributes = arguments[1];
+var snapshot = {};
+arguments[0].forEach(function (entry) {
+    var found = find(entry[1], entry[2]);
+    var first = found[0];
+    var visible = !!first && isVisible(first);
+    var values = {};
+    if (first) {
+        attributes.forEach(function (name) {
+            var value = first.getAttribute(name);
+            if (value !== null) {
+                values[name] = value;
+            }
+        });
+    }
+    snapshot[entry[0]] = {
+        count: found.length,
+        visible: visible,
+        text: visible ? first.innerText.trim() : '',
+        attributes: values
+    };
+});
+return snapshot;
@@ -0,0 +1,69 @@
+// Product tiles of a listing page, read in one round trip by SearchResultsPage.
+// arguments[0]: [kind, selector] of the tiles; arguments[1]: href of the last product already read,
+// null to read from the first tile; arguments[2]: true to scroll to the end of the listing first,
+// so further tiles start loading.
+var tiles = find(arguments[0][0], arguments[0][1]);
+var after = arguments[1];
+if (arguments[2] && tiles.length > 0) {
+    tiles[tiles.length - 1].scrollIntoView({block: 'end'});
+}
+
+function text(tile, selector) {
+    var element = tile.querySelector(selector);
+    return element ? element.textContent.trim() : '';
+}
+
+// "Rs. 1,299" -> 1299; -1 when the tile shows no such price
+function amount(value) {
+    var digits = value.replace(/[^0-9]/g, '');
+    return digits ? parseInt(digits, 10) : -1;
+}
+
+// "(40% OFF)" -> 40; -1 for no discount or a flat one such as "(Rs. 500 OFF)"
+function percent(value) {
+    var match = value.match(/([0-9]+)\s*%\s*OFF/i);
+    return match ? parseInt(match[1], 10) : -1;
+}
+
+// "| 1.2k" -> 1200
+function count(value) {
+    var match = value.match(/([0-9.]+)\s*(k)?/i);
+    return match ? Math.round(parseFloat(match[1]) * (match[2] ? 1000 : 1)) : 0;
+}
+
+function href(tile) {
+    var link = tile.querySelector('a[href]');
+    return link ? link.href : '';
+}
+
+// Tiles after the last one read. When it has left the DOM (a virtualised
+// listing recycles tiles, or a new page loaded) every tile is read again and
+// the caller drops the products it has already seen.
+var from = 0;
+if (after) {
+    for (var j = tiles.length - 1; j >= 0; j--) {
+        if (href(tiles[j]) === after) {
+            from = j + 1;
+            break;
+        }
+    }
+}
+
+var products = [];
+for (var i = from; i < tiles.length; i++) {
+    var tile = tiles[i];
+    var discounted = text(tile, '.product-discountedPrice');
+    products.push({
+        brand: text(tile, '.product-brand'),
+        name: text(tile, '.product-product'),
+        price: amount(discounted || text(tile, '.product-price')),
+        originalPrice: amount(text(tile, '.product-strike')),
+        discount: percent(text(tile, '.product-discountPercentage')),
+        href: href(tile),
+        rating: parseFloat(text(tile, '.product-ratingsContainer > span')) || 0,
+        ratingCount: count(text(tile, '.product-ratingsCount'))
+    });
+}
+
+var next = document.querySelector('li.pagination-next a[href]');
+return {count: tiles.length, next: next ? next.href : null, products: products};
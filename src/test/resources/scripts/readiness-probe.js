@@ -0,0 +1,51 @@
+// Readiness probe used by BasePage.waitUntilReady.
+// arguments[0]: list of [kind, selector] pairs, kind is "xpath" or "css".
+var state = window.__myntraReadiness;
+if (!state) {
+    state = window.__myntraReadiness = {pending: 0, lastMutation: Date.now(), lastNetwork: Date.now()};
+    new MutationObserver(function () {
+        state.lastMutation = Date.now();
+    }).observe(document, {subtree: true, childList: true, attributes: true, characterData: true});
+
+    var done = function () {
+        state.pending = Math.max(0, state.pending - 1);
+        state.lastNetwork = Date.now();
+    };
+    if (window.fetch) {
+        var originalFetch = window.fetch;
+        window.fetch = function () {
+            state.pending++;
+            state.lastNetwork = Date.now();
+            return originalFetch.apply(this, arguments).finally(done);
+        };
+    }
+    var originalSend = XMLHttpRequest.prototype.send;
+    XMLHttpRequest.prototype.send = function () {
+        state.pending++;
+        state.lastNetwork = Date.now();
+        this.addEventListener('loadend', done);
+        return originalSend.apply(this, arguments);
+    };
+}
+
+var now = Date.now();
+var elements = arguments[0].map(function (locator) {
+    var found = find(locator[0], locator[1]);
+    var first = found[0];
+    var rect = first ? first.getBoundingClientRect() : null;
+    return {
+        count: found.length,
+        visible: !!first && isVisible(first),
+        rect: rect ? [rect.x, rect.y, rect.width, rect.height].join(',') : ''
+    };
+});
+
+return {
+    readyState: document.readyState,
+    // Milliseconds since this document's navigation started
+    sinceNavigationMs: Math.round(performance.now()),
+    pendingRequests: state.pending,
+    domQuietMs: now - state.lastMutation,
+    networkIdleMs: state.pending > 0 ? 0 : now - state.lastNetwork,
+    elements: elements
+};